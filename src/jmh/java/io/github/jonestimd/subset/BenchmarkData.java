@@ -0,0 +1,98 @@
+package io.github.jonestimd.subset;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Generates repeatable collections of values for the benchmarks.
+ */
+public class BenchmarkData {
+    private static final long SEED = 20151031L;
+
+    /**
+     * The distribution of the generated values.
+     */
+    public enum Distribution {
+        /** values spread evenly over the range */
+        UNIFORM {
+            protected long nextValue(Random random, long maxValue) {
+                return 1 + (long) (random.nextDouble() * maxValue);
+            }
+        },
+        /** values grouped around a few centers */
+        CLUSTERED {
+            protected long nextValue(Random random, long maxValue) {
+                long center = (random.nextInt(5) + 1) * maxValue / 6;
+                return Math.max(1L, center + (long) (random.nextGaussian() * maxValue / 100));
+            }
+        },
+        /** values chosen from a small number of amounts */
+        DUPLICATES {
+            protected long nextValue(Random random, long maxValue) {
+                return (random.nextInt(8) + 1) * maxValue / 8;
+            }
+        };
+
+        protected abstract long nextValue(Random random, long maxValue);
+    }
+
+    private final List<Long> values;
+    private final long target;
+
+    /**
+     * @param itemCount the number of values to generate
+     * @param distribution the distribution of the values
+     * @param maxValue the largest value to generate
+     * @param mixedSign true to make about half of the values negative
+     */
+    public BenchmarkData(int itemCount, Distribution distribution, long maxValue, boolean mixedSign) {
+        Random random = new Random(SEED);
+        values = new ArrayList<>(itemCount);
+        long target = 0L;
+        for (int i = 0; i < itemCount; i++) {
+            long value = distribution.nextValue(random, maxValue);
+            if (mixedSign && random.nextBoolean()) {
+                value = -value;
+            }
+            values.add(value);
+            if (random.nextInt(3) == 0) {
+                target += value;
+            }
+        }
+        this.target = target == 0L ? values.get(0) : target;
+    }
+
+    /**
+     * @return the generated values
+     */
+    public List<Long> getValues() {
+        return values;
+    }
+
+    /**
+     * @return the generated values as {@link BigDecimal} with 2 decimal places
+     */
+    public List<BigDecimal> getDecimalValues() {
+        List<BigDecimal> decimals = new ArrayList<>(values.size());
+        for (Long value : values) {
+            decimals.add(BigDecimal.valueOf(value, 2));
+        }
+        return decimals;
+    }
+
+    /**
+     * @return the sum of a random subset of the values
+     */
+    public long getTarget() {
+        return target;
+    }
+
+    /**
+     * @return the sum of a random subset of the values as a {@link BigDecimal} with 2 decimal places
+     */
+    public BigDecimal getDecimalTarget() {
+        return BigDecimal.valueOf(target, 2);
+    }
+}
@@ -0,0 +1,63 @@
+package io.github.jonestimd.subset;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CombinationsBenchmark {
+    @Param({"12", "16", "20"})
+    private int itemCount;
+
+    private List<Long> items;
+
+    @Setup
+    public void setup() {
+        items = new BenchmarkData(itemCount, BenchmarkData.Distribution.UNIFORM, 1000L, false).getValues();
+    }
+
+    @Benchmark
+    public void visitCombinations(Blackhole blackhole) {
+        Combinations.visitCombinations(items, new CombinationVisitor<Long>() {
+            public boolean itemAdded(List<Long> subset, Long item) {
+                blackhole.consume(subset);
+                return true;
+            }
+
+            public void itemRemoved(Long item) {
+                blackhole.consume(item);
+            }
+        });
+    }
+
+    @Benchmark
+    public void visitIndexes(Blackhole blackhole) {
+        Combinations.visitCombinations(items.size(), new CombinationIndexVisitor() {
+            public boolean itemAdded(int[] subset, int size) {
+                blackhole.consume(subset[size - 1]);
+                return true;
+            }
+
+            public void itemRemoved(int index) {
+                blackhole.consume(index);
+            }
+        });
+    }
+}
@@ -0,0 +1,63 @@
+package io.github.jonestimd.subset;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SubsetSearchBenchmark {
+    @Param({"12", "16", "20"})
+    private int itemCount;
+
+    @Param({"UNIFORM", "CLUSTERED", "DUPLICATES"})
+    private BenchmarkData.Distribution distribution;
+
+    @Param({"0", "0.05"})
+    private String error;
+
+    private BigDecimal tolerance;
+    private List<BigDecimal> positiveItems;
+    private BigDecimal positiveTarget;
+    private List<BigDecimal> mixedItems;
+    private BigDecimal mixedTarget;
+
+    @Setup
+    public void setup() {
+        tolerance = new BigDecimal(error);
+        BenchmarkData positive = new BenchmarkData(itemCount, distribution, 1000L, false);
+        positiveItems = positive.getDecimalValues();
+        positiveTarget = positive.getDecimalTarget();
+        BenchmarkData mixed = new BenchmarkData(itemCount, distribution, 1000L, true);
+        mixedItems = mixed.getDecimalValues();
+        mixedTarget = mixed.getDecimalTarget();
+    }
+
+    @Benchmark
+    public List<List<BigDecimal>> uniformSign() {
+        return SubsetSearch.uniformSign(new BigDecimalSubsetPredicate<BigDecimal>(value -> value, positiveTarget, tolerance))
+                .findSubSets(positiveItems);
+    }
+
+    @Benchmark
+    public List<List<BigDecimal>> mixedSign() {
+        return SubsetSearch.mixedSign(new BigDecimalSubsetPredicate<BigDecimal>(value -> value, mixedTarget, tolerance))
+                .findSubSets(mixedItems);
+    }
+}
@@ -0,0 +1,52 @@
+package io.github.jonestimd.subset;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Searches that return all of the matching subsets.  The number of subsets grows exponentially with the number of
+ * items, so only small collections are used.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SubsetSumAllResultsBenchmark {
+    @Param({"20"})
+    private int itemCount;
+
+    @Param({"UNIFORM", "CLUSTERED", "DUPLICATES"})
+    private BenchmarkData.Distribution distribution;
+
+    @Param({"0", "1"})
+    private long itemTolerance;
+
+    private List<Long> items;
+    private long target;
+
+    @Setup
+    public void setup() {
+        BenchmarkData data = new BenchmarkData(itemCount, distribution, 1000L, false);
+        items = data.getValues();
+        target = data.getTarget();
+    }
+
+    @Benchmark
+    public List<List<Long>> longSubsets() {
+        return SubsetSum.subsets(items, target, itemTolerance, -1, Long::valueOf);
+    }
+}
@@ -0,0 +1,67 @@
+package io.github.jonestimd.subset;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Searches with a limited number of results.  Unlimited searches keep every subset of every sum, so they are measured
+ * by {@link SubsetSumAllResultsBenchmark} using only small collections.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SubsetSumBenchmark {
+    @Param({"20", "200", "2000"})
+    private int itemCount;
+
+    @Param({"UNIFORM", "CLUSTERED", "DUPLICATES"})
+    private BenchmarkData.Distribution distribution;
+
+    @Param({"0", "1"})
+    private long itemTolerance;
+
+    @Param({"1", "10"})
+    private int maxResults;
+
+    private List<Long> items;
+    private long target;
+    private List<BigDecimal> decimalItems;
+    private BigDecimal decimalTarget;
+    private BigDecimal decimalTolerance;
+
+    @Setup
+    public void setup() {
+        BenchmarkData data = new BenchmarkData(itemCount, distribution, 1000L, false);
+        items = data.getValues();
+        target = data.getTarget();
+        decimalItems = data.getDecimalValues();
+        decimalTarget = data.getDecimalTarget();
+        decimalTolerance = BigDecimal.valueOf(itemTolerance, 2);
+    }
+
+    @Benchmark
+    public List<List<Long>> longSubsets() {
+        return SubsetSum.subsets(items, target, itemTolerance, maxResults, Long::valueOf);
+    }
+
+    @Benchmark
+    public List<List<BigDecimal>> bigDecimalSubsets() {
+        return SubsetSum.subsets(decimalTarget, decimalTolerance, decimalItems, value -> value, maxResults);
+    }
+}
@@ -0,0 +1,47 @@
+package io.github.jonestimd.subset;
+
+import java.util.List;
+
+/**
+ * A subset found by {@link ApproximateSubsetSum}, with its sum and the largest possible difference between its sum
+ * and the best sum.
+ * @param <T> the type of the collection items
+ * @param <N> the type of the sums
+ */
+public class ApproximateSubset<T, N extends Number> {
+    private final List<T> subset;
+    private final N sum;
+    private final N maxError;
+
+    public ApproximateSubset(List<T> subset, N sum, N maxError) {
+        this.subset = subset;
+        this.sum = sum;
+        this.maxError = maxError;
+    }
+
+    /**
+     * @return the items in the subset
+     */
+    public List<T> getSubset() {
+        return subset;
+    }
+
+    /**
+     * @return the sum of the items in the subset
+     */
+    public N getSum() {
+        return sum;
+    }
+
+    /**
+     * @return the largest possible difference between {@link #getSum()} and the largest subset sum that does not
+     * exceed the target
+     */
+    public N getMaxError() {
+        return maxError;
+    }
+
+    public String toString() {
+        return "ApproximateSubset{sum=" + sum + ", maxError=" + maxError + ", subset=" + subset + "}";
+    }
+}
@@ -0,0 +1,135 @@
+package io.github.jonestimd.subset;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * For a collection of positive values, finds a subset having a sum close to the largest subset sum that does not
+ * exceed a target.  This is the fully polynomial time approximation scheme for the subset sum problem: the sorted list
+ * of subset sums is trimmed after each item by removing sums that are within a factor of {@code 1 + epsilon/2n} of a
+ * smaller sum.  The list contains {@code O(n log(target) / epsilon)} sums, so the time does not depend on the
+ * magnitude of the values (e.g. values with a large scale).  The sum of the subset that is found is at least
+ * {@code best / (1 + epsilon)}, where {@code best} is the largest subset sum that does not exceed the target.
+ * @see SubsetSum
+ */
+public class ApproximateSubsetSum<T> {
+    /**
+     * For a collection, find a subset with a sum close to the largest subset sum that does not exceed {@code sum}.
+     * @param sum the target sum
+     * @param epsilon the maximum relative error of the subset sum (e.g. {@code 0.01} for 1%)
+     * @param items the collection to search
+     * @param adapter a function to extract the value to sum from the collection items
+     * @return the subset or {@code null} if none of the items are less than or equal to {@code sum}
+     * @throws IllegalArgumentException if {@code epsilon} is not positive or any of the values are negative
+     */
+    public static <T> ApproximateSubset<T, BigDecimal> subset(BigDecimal sum, double epsilon, Collection<T> items, Function<? super T, BigDecimal> adapter) {
+        ItemValues<T> itemValues = ItemValues.scaled(items, adapter, sum);
+        ApproximateSubset<T, Long> subset = new ApproximateSubsetSum<>(itemValues, epsilon).findSubset(itemValues.scale(sum));
+        return subset == null ? null
+                : new ApproximateSubset<>(subset.getSubset(), itemValues.unscale(subset.getSum()), itemValues.unscale(subset.getMaxError()));
+    }
+
+    /**
+     * For a collection, find a subset with a sum close to the largest subset sum that does not exceed {@code sum}.
+     * @param items the collection to search
+     * @param sum the target sum
+     * @param epsilon the maximum relative error of the subset sum (e.g. {@code 0.01} for 1%)
+     * @param adapter a function to extract the value to sum from the collection items
+     * @return the subset or {@code null} if none of the items are less than or equal to {@code sum}
+     * @throws IllegalArgumentException if {@code epsilon} is not positive or any of the values are negative
+     */
+    public static <T> ApproximateSubset<T, Long> subset(Collection<T> items, long sum, double epsilon, Function<? super T, Long> adapter) {
+        return new ApproximateSubsetSum<>(ItemValues.of(items, adapter), epsilon).findSubset(sum);
+    }
+
+    private final List<T> items;
+    private final long[] values;
+    private final double epsilon;
+    /** the relative difference for trimming the sums */
+    private final double delta;
+    // the subset for each sum, stored as the index of the last item and the link for the rest of the subset
+    private int[] linkItems = new int[16];
+    private int[] previousLinks = new int[16];
+    private int linkCount;
+
+    private ApproximateSubsetSum(ItemValues<T> itemValues, double epsilon) {
+        if (! (epsilon > 0d)) {
+            throw new IllegalArgumentException("epsilon must be positive: " + epsilon);
+        }
+        this.items = itemValues.getItems();
+        this.values = itemValues.getValues();
+        for (long value : values) {
+            if (value < 0L) {
+                throw new IllegalArgumentException("negative value: " + value);
+            }
+        }
+        this.epsilon = epsilon;
+        this.delta = epsilon / (2 * Math.max(values.length, 1));
+    }
+
+    private ApproximateSubset<T, Long> findSubset(long target) {
+        // the trimmed subset sums in ascending order, starting with the empty subset
+        long[] sums = {0L};
+        int[] links = {-1};
+        int size = 1;
+        for (int i = 0; i < values.length; i++) {
+            long value = values[i];
+            if (value == 0L || value > target) {
+                continue;
+            }
+            long[] mergedSums = new long[size * 2];
+            int[] mergedLinks = new int[size * 2];
+            int merged = 0;
+            // merge sums with sums + value, skipping sums that are within delta of the last sum that was kept
+            for (int from = 0, extend = 0; from < size || extend < size; ) {
+                boolean extended = from == size || sums[extend] + value < sums[from];
+                long sum = extended ? sums[extend] + value : sums[from];
+                if (extended && sum > target) {
+                    extend = size;
+                    continue;
+                }
+                if (merged == 0 || sum > mergedSums[merged - 1] * (1d + delta)) {
+                    mergedSums[merged] = sum;
+                    mergedLinks[merged++] = extended ? addLink(i, links[extend]) : links[from];
+                }
+                if (extended) {
+                    extend++;
+                }
+                else {
+                    from++;
+                }
+            }
+            sums = mergedSums;
+            links = mergedLinks;
+            size = merged;
+        }
+        long best = sums[size - 1];
+        if (best == 0L) {
+            return null;
+        }
+        long maxError = Math.min(target - best, (long) Math.ceil(best * epsilon));
+        return new ApproximateSubset<>(getSubset(links[size - 1]), best, maxError);
+    }
+
+    private int addLink(int item, int previous) {
+        if (linkCount == linkItems.length) {
+            linkItems = Arrays.copyOf(linkItems, linkCount * 2);
+            previousLinks = Arrays.copyOf(previousLinks, linkCount * 2);
+        }
+        linkItems[linkCount] = item;
+        previousLinks[linkCount] = previous;
+        return linkCount++;
+    }
+
+    private List<T> getSubset(int link) {
+        List<T> subset = new ArrayList<>();
+        for (int i = link; i >= 0; i = previousLinks[i]) {
+            subset.add(0, items.get(linkItems[i]));
+        }
+        return subset;
+    }
+}
@@ -1,14 +1,18 @@
 package io.github.jonestimd.subset;
 
 import java.math.BigDecimal;
+import java.util.List;
 import java.util.function.Function;
 
 /**
- * An implementation of {@link SubsetPredicate} for {@link BigDecimal} values.
+ * An implementation of {@link SubsetPredicate} for {@link BigDecimal} values.  When used by {@link SubsetSearch}, the
+ * adapter is called once for each item at the start of the search.
  * @param <T> the type of the collection items
  */
-public class BigDecimalSubsetPredicate<T> implements SubsetPredicate<T> {
+public class BigDecimalSubsetPredicate<T> implements IndexedSubsetPredicate<T> {
     private Function<T,BigDecimal> adapter;
+    /** the values of the items passed to {@link #reset(List)} */
+    private BigDecimal[] values = new BigDecimal[0];
     private BigDecimal total = BigDecimal.ZERO;
     private BigDecimal goalMinusError;
     private BigDecimal goalPlusError;
@@ -36,12 +40,27 @@ public class BigDecimalSubsetPredicate<T> implements SubsetPredicate<T> {
         this.highResult = goal.signum() >= 0 ? SubsetPredicateResult.TOO_MANY: SubsetPredicateResult.TOO_FEW;
     }
 
+    public void reset(List<T> items) {
+        reset();
+        values = new BigDecimal[items.size()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = adapter.apply(items.get(i));
+        }
+    }
+
+    public SubsetPredicateResult applyIndex(int index) {
+        total = values[index].add(total);
+        return getResult();
+    }
+
+    public SubsetPredicateResult removeIndex(int index) {
+        total = total.subtract(values[index]);
+        return getResult();
+    }
+
     public SubsetPredicateResult apply(T item) {
         total = adapter.apply(item).add(total);
-        if (total.compareTo(goalMinusError) < 0) {
-            return lowResult;
-        }
-        return total.compareTo(goalPlusError) > 0 ? highResult : SubsetPredicateResult.MATCH;
+        return getResult();
     }
 
     public void remove(T item) {
@@ -52,6 +71,13 @@ public class BigDecimalSubsetPredicate<T> implements SubsetPredicate<T> {
         total = BigDecimal.ZERO;
     }
 
+    private SubsetPredicateResult getResult() {
+        if (total.compareTo(goalMinusError) < 0) {
+            return lowResult;
+        }
+        return total.compareTo(goalPlusError) > 0 ? highResult : SubsetPredicateResult.MATCH;
+    }
+
     public String toString() {
         return "Total: " + total.toString() + " Goal: " + goalMinusError.toString() + " - " + goalPlusError.toString();
     }
@@ -0,0 +1,38 @@
+package io.github.jonestimd.subset;
+
+import java.math.BigDecimal;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Converts {@link BigDecimal} to fixed-point long value.
+ */
+class BigDecimalToLong implements Function<BigDecimal, Long> {
+    private final int scale;
+
+    public BigDecimalToLong(int scale) {
+        this.scale = scale;
+    }
+
+    public Long apply(BigDecimal input) {
+        return input.scaleByPowerOfTen(scale).longValueExact();
+    }
+
+    /**
+     * Reverse the conversion of {@link #apply(BigDecimal)}.
+     */
+    public BigDecimal toBigDecimal(long value) {
+        return BigDecimal.valueOf(value, scale);
+    }
+
+    /**
+     * @return the largest scale of the values (i.e. the scale required to convert all of the values to long)
+     */
+    public static int maxScale(Stream<BigDecimal> items, BigDecimal ... moreItems) {
+        int maxScale = items.mapToInt(BigDecimal::scale).max().orElse(Integer.MIN_VALUE);
+        for (BigDecimal value : moreItems) {
+            maxScale = Math.max(maxScale, value.scale());
+        }
+        return maxScale;
+    }
+}
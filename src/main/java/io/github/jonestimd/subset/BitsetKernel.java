@@ -0,0 +1,63 @@
+package io.github.jonestimd.subset;
+
+/**
+ * The inner loop of {@link ReachableSums#add(long)}: a bitset is shifted by a value and combined with itself using
+ * OR.  On Java 16 or later with the {@code jdk.incubator.vector} module (e.g. {@code --add-modules jdk.incubator.vector}),
+ * the loop is performed using SIMD instructions by {@code VectorBitsetKernel}, which is in the Java 16 section of the
+ * multi-release jar.  Otherwise, a scalar loop is used.  The vector kernel can be disabled by setting the system
+ * property {@value #VECTOR_PROPERTY} to {@code false}.
+ */
+abstract class BitsetKernel {
+    /** the system property for disabling the vector kernel */
+    static final String VECTOR_PROPERTY = "io.github.jonestimd.subset.vector";
+    private static final String VECTOR_CLASS = "io.github.jonestimd.subset.VectorBitsetKernel";
+    private static final BitsetKernel INSTANCE = load();
+
+    /**
+     * @return the fastest kernel available on the current JVM
+     */
+    static BitsetKernel get() {
+        return INSTANCE;
+    }
+
+    private static BitsetKernel load() {
+        if (Boolean.parseBoolean(System.getProperty(VECTOR_PROPERTY, "true"))) {
+            try {
+                return (BitsetKernel) Class.forName(VECTOR_CLASS).getDeclaredConstructor().newInstance();
+            } catch (ReflectiveOperationException | LinkageError ex) {
+                // the vector kernel is not in the jar or the vector module is not available
+            }
+        }
+        return new Scalar();
+    }
+
+    /**
+     * For each word {@code i} from {@code to} down to {@code words + 1}, OR the bits from
+     * {@code (i - words) * 64 - shift} to {@code (i - words + 1) * 64 - shift - 1} into word {@code i}, i.e. add
+     * {@code words * 64 + shift} to every bit below word {@code to}.  All of the bits are read before they are updated.
+     * @param bits the bitset
+     * @param to the highest word to update
+     * @param words the number of whole words to shift
+     * @param shift the number of bits to shift within a word ({@code [0, 63]})
+     */
+    abstract void shiftOr(long[] bits, int to, int words, int shift);
+
+    /**
+     * @return a description of the kernel
+     */
+    public String toString() {
+        return getClass().getSimpleName();
+    }
+
+    static class Scalar extends BitsetKernel {
+        void shiftOr(long[] bits, int to, int words, int shift) {
+            for (int i = to; i > words; i--) {
+                long shifted = bits[i - words] << shift;
+                if (shift != 0) {
+                    shifted |= bits[i - words - 1] >>> (64 - shift);
+                }
+                bits[i] |= shifted;
+            }
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package io.github.jonestimd.subset;
+
+/**
+ * An {@link IndexedSubsetPredicate} that can determine if the current subset can be extended to a match using the
+ * remaining items.  {@link SubsetSearch} uses the bound to skip the supersets of a subset when none of them can
+ * match, which turns a search of all subsets into a branch and bound search.  The bounds are tightest when the items
+ * are in descending order of absolute value.
+ *
+ * @param <T> the type of the collection elements
+ */
+public interface BoundedSubsetPredicate<T> extends IndexedSubsetPredicate<T> {
+    /**
+     * @param fromIndex the position of the first item that can be added to the current subset
+     * @return false if none of the subsets created by adding items at {@code fromIndex} or later to the current
+     * subset can match
+     */
+    boolean canReach(int fromIndex);
+}
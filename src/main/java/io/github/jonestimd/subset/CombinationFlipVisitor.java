@@ -0,0 +1,21 @@
+package io.github.jonestimd.subset;
+
+/**
+ * A visitor for {@link Combinations#visitGrayCode(int, CombinationFlipVisitor)}.  Each notification adds or removes
+ * a single item, so the visitor only needs to update its state for one item to evaluate the current subset.
+ */
+public interface CombinationFlipVisitor {
+    /**
+     * Notification that an item was added to the subset.
+     * @param index the index of the added item
+     * @param subset the bitmask of the indexes in the current subset
+     */
+    void itemAdded(int index, long subset);
+
+    /**
+     * Notification that an item was removed from the subset.
+     * @param index the index of the removed item
+     * @param subset the bitmask of the indexes in the current subset
+     */
+    void itemRemoved(int index, long subset);
+}
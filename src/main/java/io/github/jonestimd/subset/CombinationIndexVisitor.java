@@ -0,0 +1,22 @@
+package io.github.jonestimd.subset;
+
+/**
+ * A visitor for {@link Combinations} that receives the indexes of the items in the current subset instead of a copy
+ * of the subset.
+ */
+public interface CombinationIndexVisitor {
+    /**
+     * Notification that an item was added to the subset.
+     * @param subset the indexes of the items in the current subset.  Only the first {@code size} values are part of the
+     *        subset.  The array is reused for every notification, so it must be copied if it needs to be kept.
+     * @param size the number of items in the subset (the index of the added item is {@code subset[size-1]}).
+     * @return true to visit combinations that are a superset of the current subset.
+     */
+    boolean itemAdded(int[] subset, int size);
+
+    /**
+     * Notification that an item was removed from the subset.
+     * @param index the index of the removed item
+     */
+    void itemRemoved(int index);
+}
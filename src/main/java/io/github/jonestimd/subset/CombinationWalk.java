@@ -0,0 +1,66 @@
+package io.github.jonestimd.subset;
+
+/**
+ * The state of a depth first walk over the subsets of the indexes {@code [0, count)}.  The walk can be paused after
+ * any subset, which allows the subsets to be generated on demand.  Optionally, runs of equivalent indexes can be
+ * treated as a multiset, in which case only the first indexes of each run are used for each subset of the run.
+ * @see Combinations#visitCombinations(int, CombinationIndexVisitor)
+ */
+class CombinationWalk {
+    private final int count;
+    private final CombinationIndexVisitor visitor;
+    /** the index that replaces each index at the same depth or {@code null} to use the following index */
+    private final int[] nextSibling;
+    private final int[] subset;
+    private int size;
+    private int index;
+
+    public CombinationWalk(int count, CombinationIndexVisitor visitor) {
+        this(count, null, visitor);
+    }
+
+    /**
+     * @param nextSibling for each index, the start of the following run of equivalent indexes
+     */
+    public CombinationWalk(int count, int[] nextSibling, CombinationIndexVisitor visitor) {
+        this.count = count;
+        this.visitor = visitor;
+        this.nextSibling = nextSibling;
+        this.subset = new int[count];
+    }
+
+    /**
+     * @return true if there are more subsets to visit
+     */
+    public boolean hasNext() {
+        return index < count || size > 0 && nextSibling(subset[0]) < count;
+    }
+
+    private int nextSibling(int index) {
+        return nextSibling == null ? index + 1 : nextSibling[index];
+    }
+
+    /**
+     * Add the next item to the subset (removing items as necessary) and notify the visitor.
+     * @return false if all of the subsets have been visited
+     */
+    public boolean next() {
+        while (index == count) {
+            if (size == 0) {
+                return false;
+            }
+            index = subset[--size];
+            visitor.itemRemoved(index);
+            index = nextSibling(index);
+        }
+        subset[size++] = index;
+        if (visitor.itemAdded(subset, size)) {
+            index++;
+        }
+        else {
+            visitor.itemRemoved(subset[--size]);
+            index = nextSibling(index);
+        }
+        return true;
+    }
+}
@@ -1,51 +1,78 @@
 package io.github.jonestimd.subset;
 
-import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.Deque;
 import java.util.List;
 
 /**
  * Utilities for evaluating subsets of collections.
  */
 public class Combinations {
+    /** the largest number of items for {@link #visitGrayCode(int, CombinationFlipVisitor)} */
+    public static final int MAX_GRAY_CODE_ITEMS = Long.SIZE - 2;
+
     private Combinations() {}
 
     /**
      * Generate all possible subsets of {@code items} and pass them to {@code visitor}.
      */
     public static <T> void visitCombinations(Collection<T> items, CombinationVisitor<T> visitor) {
-        visitCombinations(new ArrayList<>(items), new ArrayList<>(), visitor);
+        visitCombinations(new ArrayList<>(items), visitor);
     }
 
     /**
      * Generate all possible subsets of {@code items} and pass them to {@code visitor}.
      */
     public static <T> void visitCombinations(List<T> items, CombinationVisitor<T> visitor) {
-        visitCombinations(items, new ArrayList<>(), visitor);
+        visitCombinations(items.size(), new CombinationIndexVisitor() {
+            public boolean itemAdded(int[] subset, int size) {
+                List<T> copy = new ArrayList<>(size);
+                for (int i = 0; i < size; i++) {
+                    copy.add(items.get(subset[i]));
+                }
+                return visitor.itemAdded(copy, copy.get(size - 1));
+            }
+
+            public void itemRemoved(int index) {
+                visitor.itemRemoved(items.get(index));
+            }
+        });
     }
 
-    private static <T> void visitCombinations(List<T> allItems, List<T> subset, CombinationVisitor<T> visitor) {
-        Deque<Integer> stack = new ArrayDeque<>(allItems.size());
-        stack.push(0);
-        while (! stack.isEmpty()) {
-            int index = stack.pop();
-            while (index < allItems.size()) {
-                T item = allItems.get(index);
-                subset.add(item);
-                index++;
-                if (visitor.itemAdded(new ArrayList<>(subset), item)) {
-                    stack.push(index);
-                }
-                else {
-                    subset.remove(item);
-                    visitor.itemRemoved(item);
-                }
+    /**
+     * Generate all possible subsets of the indexes {@code [0, count)} and pass them to {@code visitor}.  The subsets
+     * are generated in the same order as {@link #visitCombinations(List, CombinationVisitor)} without allocating
+     * memory for each subset.
+     */
+    public static void visitCombinations(int count, CombinationIndexVisitor visitor) {
+        CombinationWalk walk = new CombinationWalk(count, visitor);
+        while (walk.next()) {
+            // continue walking
+        }
+    }
+
+    /**
+     * Generate all non-empty subsets of the indexes {@code [0, count)} in Gray code order and pass them to
+     * {@code visitor}.  Each subset differs from the previous subset by a single index, so each subset requires one
+     * notification (compared to about 2 for {@link #visitCombinations(int, CombinationIndexVisitor)}).  The supersets
+     * of a subset can not be skipped, so this should only be used when all of the subsets must be visited.
+     * @throws IllegalArgumentException if {@code count} is greater than {@value #MAX_GRAY_CODE_ITEMS}
+     */
+    public static void visitGrayCode(int count, CombinationFlipVisitor visitor) {
+        if (count > MAX_GRAY_CODE_ITEMS) {
+            throw new IllegalArgumentException("too many items: " + count);
+        }
+        long subset = 0L;
+        for (long step = 1L, end = 1L << count; step < end; step++) {
+            // step i of the Gray code flips the lowest set bit of i
+            int index = Long.numberOfTrailingZeros(step);
+            subset ^= 1L << index;
+            if ((subset & 1L << index) != 0L) {
+                visitor.itemAdded(index, subset);
             }
-            if (! subset.isEmpty()) {
-                visitor.itemRemoved(subset.remove(subset.size()-1));
+            else {
+                visitor.itemRemoved(index, subset);
             }
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,31 @@
+package io.github.jonestimd.subset;
+
+import java.util.List;
+
+/**
+ * A {@link SubsetPredicate} that can evaluate the items of a collection by their position in the collection.
+ * {@link SubsetSearch} calls {@link #reset(List)} at the start of a search so that the predicate can precompute
+ * the values of the items, and then notifies the predicate using the indexes of the items.
+ *
+ * @param <T> the type of the collection elements
+ */
+public interface IndexedSubsetPredicate<T> extends SubsetPredicate<T> {
+    /**
+     * Reset the state of this predicate and prepare to search {@code items}.
+     */
+    void reset(List<T> items);
+
+    /**
+     * Add the item at {@code index} to the current subset.
+     * @param index the position of the item in the list passed to {@link #reset(List)}
+     * @return the match status of the new subset
+     */
+    SubsetPredicateResult applyIndex(int index);
+
+    /**
+     * Remove the item at {@code index} from the current subset.
+     * @param index the position of the item in the list passed to {@link #reset(List)}
+     * @return the match status of the remaining subset
+     */
+    SubsetPredicateResult removeIndex(int index);
+}
@@ -0,0 +1,40 @@
+package io.github.jonestimd.subset;
+
+import java.util.List;
+import java.util.function.ToIntFunction;
+
+/**
+ * An implementation of {@link SubsetPredicate} for {@code int} values.  The values of the items are calculated once
+ * at the start of each search, along with the sums of the remaining positive and negative values used to bound the
+ * search.  The values are stored as {@code int} and summed as {@code long}.
+ * @param <T> the type of the collection items
+ */
+public class IntSubsetPredicate<T> extends SumSubsetPredicate<T> {
+    private final ToIntFunction<? super T> adapter;
+    private int[] values = new int[0];
+
+    /**
+     * @param adapter a function to extract {@code int} values from the collection items
+     * @param goal the target sum for the subsets
+     * @param error margin of error for matching the target subset sum
+     */
+    public IntSubsetPredicate(ToIntFunction<? super T> adapter, int goal, int error) {
+        super(goal, error);
+        this.adapter = adapter;
+    }
+
+    protected void setValues(List<T> items) {
+        values = new int[items.size()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = adapter.applyAsInt(items.get(i));
+        }
+    }
+
+    protected long value(int index) {
+        return values[index];
+    }
+
+    protected long value(T item) {
+        return adapter.applyAsInt(item);
+    }
+}
@@ -0,0 +1,165 @@
+package io.github.jonestimd.subset;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import com.google.common.collect.AbstractIterator;
+
+/**
+ * The items of a collection grouped by a key, so that the collection can be searched as a multiset of keys.  The
+ * groups are in order of the first occurrence of each key and the items of each group are in collection order.
+ * @param <T> the type of the collection items
+ */
+class ItemGroups<T> {
+    private final Function<? super T, ?> key;
+    private final Map<Object, Integer> groupIndexes = new LinkedHashMap<>();
+    /** the items in group order */
+    private final List<T> items;
+    /** the index in {@link #items} of the first item of each group, followed by the number of items */
+    private final int[] starts;
+
+    public ItemGroups(Collection<T> items, Function<? super T, ?> key) {
+        this.key = key;
+        Map<Object, List<T>> groups = new LinkedHashMap<>();
+        for (T item : items) {
+            groups.computeIfAbsent(key.apply(item), k -> new ArrayList<>()).add(item);
+        }
+        this.items = new ArrayList<>(items.size());
+        this.starts = new int[groups.size() + 1];
+        for (Map.Entry<Object, List<T>> entry : groups.entrySet()) {
+            int group = groupIndexes.size();
+            groupIndexes.put(entry.getKey(), group);
+            starts[group] = this.items.size();
+            this.items.addAll(entry.getValue());
+        }
+        starts[groups.size()] = this.items.size();
+    }
+
+    /**
+     * @return the items in group order
+     */
+    public List<T> getItems() {
+        return items;
+    }
+
+    /**
+     * @return the number of groups
+     */
+    public int size() {
+        return starts.length - 1;
+    }
+
+    /**
+     * @return the number of items in a group
+     */
+    public int count(int group) {
+        return starts[group + 1] - starts[group];
+    }
+
+    /**
+     * @return the first item of a group
+     */
+    public T first(int group) {
+        return items.get(starts[group]);
+    }
+
+    /**
+     * @return the group containing {@code item}
+     */
+    public int group(T item) {
+        return groupIndexes.get(key.apply(item));
+    }
+
+    /**
+     * @return the index in {@link #getItems()} of the first item of the following group for each item
+     */
+    public int[] nextGroupStarts() {
+        int[] next = new int[items.size()];
+        for (int group = 0; group < size(); group++) {
+            for (int i = starts[group]; i < starts[group + 1]; i++) {
+                next[i] = starts[group + 1];
+            }
+        }
+        return next;
+    }
+
+    /**
+     * Expand a subset of groups into subsets of the items.
+     * @param itemGroups the group of each item in the subset, in ascending order
+     * @param canonical true to only return the subset containing the first items of each group, false to return all
+     * of the ways to choose the items from each group
+     */
+    public Iterator<List<T>> expand(int[] itemGroups, boolean canonical) {
+        List<int[]> combinations = new ArrayList<>();
+        List<Integer> groups = new ArrayList<>();
+        for (int i = 0, end; i < itemGroups.length; i = end) {
+            end = i + 1;
+            while (end < itemGroups.length && itemGroups[end] == itemGroups[i]) {
+                end++;
+            }
+            int[] combination = new int[end - i];
+            resetCombination(combination);
+            combinations.add(combination);
+            groups.add(itemGroups[i]);
+        }
+        return new AbstractIterator<List<T>>() {
+            private boolean first = true;
+
+            protected List<T> computeNext() {
+                if (first) {
+                    first = false;
+                    return subset();
+                }
+                if (! canonical) {
+                    for (int i = combinations.size() - 1; i >= 0; i--) {
+                        if (nextCombination(combinations.get(i), count(groups.get(i)))) {
+                            return subset();
+                        }
+                        resetCombination(combinations.get(i));
+                    }
+                }
+                return endOfData();
+            }
+
+            private List<T> subset() {
+                List<T> subset = new ArrayList<>(itemGroups.length);
+                for (int i = 0; i < combinations.size(); i++) {
+                    int start = starts[groups.get(i)];
+                    for (int offset : combinations.get(i)) {
+                        subset.add(items.get(start + offset));
+                    }
+                }
+                return subset;
+            }
+        };
+    }
+
+    private static void resetCombination(int[] combination) {
+        for (int i = 0; i < combination.length; i++) {
+            combination[i] = i;
+        }
+    }
+
+    /**
+     * Advance to the next combination of {@code combination.length} offsets in {@code [0, count)}.
+     * @return false if {@code combination} was the last combination
+     */
+    private static boolean nextCombination(int[] combination, int count) {
+        int size = combination.length;
+        for (int i = size - 1; i >= 0; i--) {
+            if (combination[i] < count - size + i) {
+                combination[i]++;
+                for (int j = i + 1; j < size; j++) {
+                    combination[j] = combination[j - 1] + 1;
+                }
+                return true;
+            }
+        }
+        return false;
+    }
+}
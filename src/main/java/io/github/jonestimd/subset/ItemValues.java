@@ -0,0 +1,94 @@
+package io.github.jonestimd.subset;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * The items of a collection and their values.  The adapter is called once for each item, so that an expensive
+ * adapter (e.g. one that loads a lazy field) does not need to be evaluated by every step of a search.
+ * @param <T> the type of the collection items
+ */
+class ItemValues<T> {
+    private final List<T> items;
+    private final long[] values;
+    /** the conversion of {@link BigDecimal} values or {@code null} if the values are {@code long} */
+    private final BigDecimalToLong scale;
+
+    private ItemValues(List<T> items, long[] values, BigDecimalToLong scale) {
+        this.items = items;
+        this.values = values;
+        this.scale = scale;
+    }
+
+    /**
+     * @param adapter a function to extract the value of the collection items
+     */
+    public static <T> ItemValues<T> of(Collection<T> items, Function<? super T, Long> adapter) {
+        List<T> list = new ArrayList<>(items);
+        long[] values = new long[list.size()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = adapter.apply(list.get(i));
+        }
+        return new ItemValues<>(list, values, null);
+    }
+
+    /**
+     * Convert the {@link BigDecimal} values of the items to fixed-point {@code long} values, using a scale that can
+     * also represent {@code targets}.
+     * @param adapter a function to extract the value of the collection items
+     * @param targets other values that must be converted using the same scale (see {@link #scale(BigDecimal)})
+     */
+    public static <T> ItemValues<T> scaled(Collection<T> items, Function<? super T, BigDecimal> adapter, BigDecimal... targets) {
+        List<T> list = new ArrayList<>(items);
+        BigDecimal[] decimals = new BigDecimal[list.size()];
+        for (int i = 0; i < decimals.length; i++) {
+            decimals[i] = adapter.apply(list.get(i));
+        }
+        BigDecimalToLong scale = new BigDecimalToLong(BigDecimalToLong.maxScale(Arrays.stream(decimals), targets));
+        long[] values = new long[decimals.length];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = scale.apply(decimals[i]);
+        }
+        return new ItemValues<>(list, values, scale);
+    }
+
+    /**
+     * @return the items of the collection
+     */
+    public List<T> getItems() {
+        return items;
+    }
+
+    /**
+     * @return the values of the items (the array is not copied)
+     */
+    public long[] getValues() {
+        return values;
+    }
+
+    /**
+     * Convert a value using the same scale as the item values.
+     * @throws IllegalStateException if the item values were not created by {@link #scaled(Collection, Function, BigDecimal...)}
+     */
+    public long scale(BigDecimal value) {
+        if (scale == null) {
+            throw new IllegalStateException("values are not scaled");
+        }
+        return scale.apply(value);
+    }
+
+    /**
+     * Reverse the conversion of {@link #scale(BigDecimal)}.
+     * @throws IllegalStateException if the item values were not created by {@link #scaled(Collection, Function, BigDecimal...)}
+     */
+    public BigDecimal unscale(long value) {
+        if (scale == null) {
+            throw new IllegalStateException("values are not scaled");
+        }
+        return scale.toBigDecimal(value);
+    }
+}
@@ -0,0 +1,92 @@
+package io.github.jonestimd.subset;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Storage for {@link SubsetLinks} in a memory mapped temporary file.  Each link is stored as 3 {@code int}s (the item
+ * index, the previous link and the next link).  The file is mapped in fixed size chunks as it grows and is deleted
+ * when this object is closed.
+ */
+class LinkFile implements Closeable {
+    private static final int LINK_BYTES = 3 * Integer.BYTES;
+    private static final int CHUNK_SHIFT = 22;
+    private static final int CHUNK_LINKS = 1 << CHUNK_SHIFT;
+    private static final int CHUNK_MASK = CHUNK_LINKS - 1;
+
+    private final Path path;
+    private final FileChannel channel;
+    private final List<MappedByteBuffer> chunks = new ArrayList<>();
+
+    /**
+     * @param directory the directory for the temporary file
+     */
+    public LinkFile(Path directory) {
+        try {
+            this.path = Files.createTempFile(directory, "subset-links", ".bin");
+            this.channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    public void set(int index, int item, int previous, int next) {
+        MappedByteBuffer chunk = chunk(index);
+        int offset = (index & CHUNK_MASK) * LINK_BYTES;
+        chunk.putInt(offset, item);
+        chunk.putInt(offset + Integer.BYTES, previous);
+        chunk.putInt(offset + 2 * Integer.BYTES, next);
+    }
+
+    public int item(int index) {
+        return chunk(index).getInt((index & CHUNK_MASK) * LINK_BYTES);
+    }
+
+    public int previous(int index) {
+        return chunk(index).getInt((index & CHUNK_MASK) * LINK_BYTES + Integer.BYTES);
+    }
+
+    public int next(int index) {
+        return chunk(index).getInt((index & CHUNK_MASK) * LINK_BYTES + 2 * Integer.BYTES);
+    }
+
+    public void setNext(int index, int next) {
+        chunk(index).putInt((index & CHUNK_MASK) * LINK_BYTES + 2 * Integer.BYTES, next);
+    }
+
+    /**
+     * Map the file for the first {@code count} links, so that the links can be set by multiple threads.
+     */
+    public void reserve(int count) {
+        chunk(count - 1);
+    }
+
+    private MappedByteBuffer chunk(int index) {
+        int chunk = index >>> CHUNK_SHIFT;
+        while (chunk >= chunks.size()) {
+            try {
+                chunks.add(channel.map(FileChannel.MapMode.READ_WRITE, (long) chunks.size() * CHUNK_LINKS * LINK_BYTES, (long) CHUNK_LINKS * LINK_BYTES));
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        }
+        return chunks.get(chunk);
+    }
+
+    public void close() throws IOException {
+        chunks.clear();
+        try {
+            channel.close();
+        } finally {
+            Files.deleteIfExists(path);
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package io.github.jonestimd.subset;
+
+import java.util.List;
+import java.util.function.ToLongFunction;
+
+/**
+ * An implementation of {@link SubsetPredicate} for {@code long} values.  The values of the items are calculated once
+ * at the start of each search, along with the sums of the remaining positive and negative values used to bound the
+ * search.
+ * @param <T> the type of the collection items
+ */
+public class LongSubsetPredicate<T> extends SumSubsetPredicate<T> {
+    private final ToLongFunction<? super T> adapter;
+    private long[] values = new long[0];
+
+    /**
+     * @param adapter a function to extract {@code long} values from the collection items
+     * @param goal the target sum for the subsets
+     * @param error margin of error for matching the target subset sum
+     */
+    public LongSubsetPredicate(ToLongFunction<? super T> adapter, long goal, long error) {
+        super(goal, error);
+        this.adapter = adapter;
+    }
+
+    protected void setValues(List<T> items) {
+        values = new long[items.size()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = adapter.applyAsLong(items.get(i));
+        }
+    }
+
+    protected long value(int index) {
+        return values[index];
+    }
+
+    protected long value(T item) {
+        return adapter.applyAsLong(item);
+    }
+}
@@ -0,0 +1,126 @@
+package io.github.jonestimd.subset;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * For a collection of positive and negative values, finds subsets having a specified sum using a meet in the middle
+ * search.  The collection is split into two halves and the sums of all of the subsets of each half are calculated and
+ * sorted.  Matching pairs of subsets are then found by sweeping the sorted sums of one half upward while sweeping the
+ * sorted sums of the other half downward.  This requires time proportional to {@code 2^(n/2)} instead of {@code 2^n}
+ * and memory for {@code 2^(n/2)} sums, so the size of the collection is limited to {@value #MAX_ITEMS}.
+ * @see SubsetSum
+ */
+public class MeetInTheMiddle<T> {
+    /** the largest collection that can be searched */
+    public static final int MAX_ITEMS = 50;
+
+    /**
+     * For a collection, find the subsets having the specified sum.
+     * @param sum the target sum for the subsets
+     * @param tolerance the maximum difference between the target sum and the subset sums
+     * @param items the collection to search
+     * @param adapter a function to extract the value to sum from the collection items
+     * @param maxResults the maximum number of subsets to return (negative for no limit)
+     * @return the matching subsets
+     * @throws IllegalArgumentException if the collection has more than {@value #MAX_ITEMS} items
+     */
+    public static <T> List<List<T>> subsets(BigDecimal sum, BigDecimal tolerance, Collection<T> items, Function<? super T, BigDecimal> adapter, int maxResults) {
+        BigDecimalToLong bigDecimalToLong = new BigDecimalToLong(BigDecimalToLong.maxScale(items.stream().map(adapter), sum, tolerance));
+        return subsets(items, bigDecimalToLong.apply(sum), bigDecimalToLong.apply(tolerance), maxResults, bigDecimalToLong.compose(adapter));
+    }
+
+    /**
+     * For a collection, find the subsets having the specified sum.
+     * @param items the collection to search
+     * @param sum the target sum for the subsets
+     * @param tolerance the maximum difference between the target sum and the subset sums
+     * @param maxResults the maximum number of subsets to return (negative for no limit)
+     * @param adapter a function to extract the value to sum from the collection items
+     * @return the matching subsets
+     * @throws IllegalArgumentException if the collection has more than {@value #MAX_ITEMS} items
+     */
+    public static <T> List<List<T>> subsets(Collection<T> items, long sum, long tolerance, int maxResults, Function<? super T, Long> adapter) {
+        if (items.size() > MAX_ITEMS) {
+            throw new IllegalArgumentException("too many items: " + items.size());
+        }
+        return new MeetInTheMiddle<>(items, adapter).findSubsets(sum - Math.abs(tolerance), sum + Math.abs(tolerance), maxResults);
+    }
+
+    private final List<T> items;
+    private final long[] values;
+
+    private MeetInTheMiddle(Collection<T> items, Function<? super T, Long> adapter) {
+        this.items = new ArrayList<>(items);
+        this.values = new long[items.size()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = adapter.apply(this.items.get(i));
+        }
+    }
+
+    private List<List<T>> findSubsets(long minSum, long maxSum, int maxResults) {
+        int split = values.length / 2;
+        HalfSums low = new HalfSums(0, split);
+        HalfSums high = new HalfSums(split, values.length);
+        List<List<T>> subsets = new ArrayList<>();
+        // highStart..highEnd are the high sums that match the current low sum
+        int highStart = high.sums.length;
+        int highEnd = high.sums.length - 1;
+        for (int i = 0; i < low.sums.length; i++) {
+            while (highEnd >= 0 && high.sums[highEnd] > maxSum - low.sums[i]) {
+                highEnd--;
+            }
+            while (highStart > 0 && high.sums[highStart - 1] >= minSum - low.sums[i]) {
+                highStart--;
+            }
+            for (int j = highStart; j <= highEnd; j++) {
+                if (low.masks[i] != 0 || high.masks[j] != 0) {
+                    subsets.add(getSubset(low, low.masks[i], high, high.masks[j]));
+                    if (subsets.size() == maxResults) {
+                        return subsets;
+                    }
+                }
+            }
+        }
+        return subsets;
+    }
+
+    private List<T> getSubset(HalfSums low, int lowMask, HalfSums high, int highMask) {
+        List<T> subset = new ArrayList<>(Integer.bitCount(lowMask) + Integer.bitCount(highMask));
+        low.addItems(lowMask, subset);
+        high.addItems(highMask, subset);
+        return subset;
+    }
+
+    /**
+     * The sums of all of the subsets of a range of the items (including the empty subset), in ascending order.
+     */
+    private class HalfSums {
+        private final int start;
+        private final long[] sums;
+        /** the bitmask of item offsets for each sum */
+        private final int[] masks;
+
+        public HalfSums(int start, int end) {
+            this.start = start;
+            int count = 1 << (end - start);
+            this.sums = new long[count];
+            this.masks = new int[count];
+            for (int mask = 1; mask < count; mask++) {
+                int lowBit = mask & -mask;
+                sums[mask] = sums[mask ^ lowBit] + values[start + Integer.numberOfTrailingZeros(lowBit)];
+                masks[mask] = mask;
+            }
+            PrimitiveSort.sort(sums, masks);
+        }
+
+        public void addItems(int mask, List<T> subset) {
+            for (int bits = mask; bits != 0; bits &= bits - 1) {
+                subset.add(items.get(start + Integer.numberOfTrailingZeros(bits)));
+            }
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package io.github.jonestimd.subset;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * For a collection containing many items with the same value, finds subsets having a specified sum.  The items are
+ * grouped by value and the sums are calculated for each combination of (value, number of items) instead of each
+ * combination of items, so duplicate values do not multiply the work.  The subsets of items are only created as the
+ * matches are consumed.  Either all of the matching subsets of items or one subset for each matching combination of
+ * values can be returned.
+ *
+ * <p>Unlike {@link SubsetSum}, the tolerance is the maximum difference between the target sum and the subset sums.
+ * The subsets are returned in order of their distance from the target sum.
+ * @see SubsetSum
+ */
+public class MultisetSubsetSum<T> {
+    /**
+     * For a collection, find the subsets having the specified sum.
+     * @param sum the target sum for the subsets
+     * @param tolerance the maximum difference between the target sum and the subset sums
+     * @param items the collection to search
+     * @param adapter a function to extract the value to sum from the collection items
+     * @param maxResults the maximum number of subsets to return (negative for no limit)
+     * @param canonical true to return one subset for each combination of values, false to return all subsets
+     * @return the matching subsets
+     */
+    public static <T> List<List<T>> subsets(BigDecimal sum, BigDecimal tolerance, Collection<T> items, Function<? super T, BigDecimal> adapter,
+            int maxResults, boolean canonical) {
+        BigDecimalToLong bigDecimalToLong = new BigDecimalToLong(BigDecimalToLong.maxScale(items.stream().map(adapter), sum, tolerance));
+        return subsets(items, bigDecimalToLong.apply(sum), bigDecimalToLong.apply(tolerance), maxResults, bigDecimalToLong.compose(adapter), canonical);
+    }
+
+    /**
+     * For a collection, find the subsets having the specified sum.
+     * @param items the collection to search
+     * @param sum the target sum for the subsets
+     * @param tolerance the maximum difference between the target sum and the subset sums
+     * @param maxResults the maximum number of subsets to return (negative for no limit)
+     * @param adapter a function to extract the value to sum from the collection items
+     * @param canonical true to return one subset for each combination of values, false to return all subsets
+     * @return the matching subsets
+     */
+    public static <T> List<List<T>> subsets(Collection<T> items, long sum, long tolerance, int maxResults, Function<? super T, Long> adapter,
+            boolean canonical) {
+        return streamSubsets(items, sum, tolerance, maxResults, adapter, canonical).collect(Collectors.toList());
+    }
+
+    /**
+     * For a collection, create a stream of the subsets having the specified sum.  The search is performed when the
+     * first subset is consumed from the stream and each subset is created as it is consumed.
+     * @param items the collection to search
+     * @param sum the target sum for the subsets
+     * @param tolerance the maximum difference between the target sum and the subset sums
+     * @param maxResults the maximum number of subsets to return (negative for no limit)
+     * @param adapter a function to extract the value to sum from the collection items
+     * @param canonical true to return one subset for each combination of values, false to return all subsets
+     * @return the matching subsets
+     */
+    public static <T> Stream<List<T>> streamSubsets(Collection<T> items, long sum, long tolerance, int maxResults, Function<? super T, Long> adapter,
+            boolean canonical) {
+        Stream<List<T>> subsets = StreamSupport.stream(() -> new MultisetSubsetSum<>(items, adapter, maxResults)
+                .findSubsets(sum, Math.abs(tolerance), canonical).spliterator(), Spliterator.ORDERED | Spliterator.NONNULL, false);
+        return maxResults > 0 ? subsets.limit(maxResults) : subsets;
+    }
+
+    private final int maxResults;
+    private final ItemGroups<T> groups;
+    /** the value of the items in each group */
+    private final long[] values;
+    private SumTable sumTable;
+    /** combinations of values for each slot in {@link #sumTable}, as a list of group indexes */
+    private SubsetLinks subsetSums;
+
+    private MultisetSubsetSum(Collection<T> items, Function<? super T, Long> adapter, int maxResults) {
+        this.maxResults = maxResults;
+        this.groups = new ItemGroups<>(items.stream().filter(item -> adapter.apply(item) != 0L).collect(Collectors.toList()), adapter);
+        this.values = new long[groups.size()];
+        for (int group = 0; group < values.length; group++) {
+            values[group] = adapter.apply(groups.first(group));
+        }
+    }
+
+    private Stream<List<T>> findSubsets(long sum, long tolerance, boolean canonical) {
+        buildSubsets(sum - tolerance, sum + tolerance);
+        List<Integer> slots = IntStream.range(0, sumTable.size())
+                .filter(slot -> Math.abs(sumTable.sum(slot) - sum) <= tolerance).boxed()
+                .sorted(Comparator.<Integer>comparingLong(slot -> Math.abs(sumTable.sum(slot) - sum)).thenComparingLong(sumTable::sum))
+                .collect(Collectors.toList());
+        return slots.stream().flatMap(this::getLinks)
+                .flatMap(link -> StreamSupport.stream(Spliterators.spliteratorUnknownSize(
+                        groups.expand(subsetSums.indexes(link), canonical), Spliterator.ORDERED | Spliterator.NONNULL), false));
+    }
+
+    private Stream<Integer> getLinks(int slot) {
+        List<Integer> links = new ArrayList<>(subsetSums.size(slot));
+        for (int link = subsetSums.first(slot); link >= 0; link = subsetSums.next(link)) {
+            links.add(link);
+        }
+        return links.stream();
+    }
+
+    /**
+     * Populate {@link #subsetSums} with the combinations of values that can be extended to a sum in
+     * {@code [minTarget, maxTarget]}.  For each group, the subsets that existed before the group are extended by
+     * adding 1 to {@code count} items of the group.  When {@code maxResults} is positive, only the first
+     * {@code maxResults} subsets of each sum are extended.
+     */
+    private void buildSubsets(long minTarget, long maxTarget) {
+        // sums of the values of the groups following each group
+        long[] remainingPositive = new long[values.length + 1];
+        long[] remainingNegative = new long[values.length + 1];
+        for (int group = values.length - 1; group >= 0; group--) {
+            remainingPositive[group] = remainingPositive[group + 1] + Math.max(values[group], 0L) * groups.count(group);
+            remainingNegative[group] = remainingNegative[group + 1] + Math.min(values[group], 0L) * groups.count(group);
+        }
+        int expectedSize = values.length * 3;
+        sumTable = SumTable.create(remainingNegative[0], remainingPositive[0], expectedSize);
+        subsetSums = new SubsetLinks(expectedSize, expectedSize);
+        for (int group = 0; group < values.length; group++) {
+            // subsets to extend with the current group, starting with the empty subset
+            int size = 1;
+            for (int slot = 0; slot < sumTable.size(); slot++) {
+                size += applyLimit(subsetSums.size(slot));
+            }
+            int[] links = new int[size];
+            long[] sums = new long[size];
+            links[0] = -1;
+            for (int slot = 0, i = 1, slots = sumTable.size(); slot < slots; slot++) {
+                int link = subsetSums.first(slot);
+                for (int count = applyLimit(subsetSums.size(slot)); count-- > 0; link = subsetSums.next(link)) {
+                    links[i] = link;
+                    sums[i++] = sumTable.sum(slot);
+                }
+            }
+            long value = values[group];
+            int count = groups.count(group);
+            for (int k = 1; k <= count && size > 0; k++) {
+                // range that can be added by the rest of the current group and the following groups
+                long low = remainingNegative[group + 1] + Math.min(value, 0L) * (count - k);
+                long high = remainingPositive[group + 1] + Math.max(value, 0L) * (count - k);
+                int extended = 0;
+                for (int i = 0; i < size; i++) {
+                    long sum = sums[i] + value;
+                    if (sum + low <= maxTarget && sum + high >= minTarget) {
+                        links[extended] = subsetSums.add(sumTable.addSlot(sum), group, links[i]);
+                        sums[extended++] = sum;
+                    }
+                }
+                size = extended;
+            }
+        }
+    }
+
+    private int applyLimit(int available) {
+        return maxResults <= 0 ? available : Math.min(available, maxResults);
+    }
+}
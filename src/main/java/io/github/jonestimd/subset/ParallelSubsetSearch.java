@@ -0,0 +1,132 @@
+package io.github.jonestimd.subset;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * This class finds subsets of a collection that match some criteria using a {@link ForkJoinPool}.  The search is
+ * split into tasks by deciding whether to include or exclude each of the first items of the collection, up to the
+ * split depth.  Each task searches the remaining items using its own instance of {@link SubsetSearch} with a new
+ * {@link SubsetPredicate} from the supplier.  The matches are returned in the same order as {@link SubsetSearch}.
+ *
+ * <p>Instances of this class are thread safe if the predicate supplier is thread safe.
+ */
+public class ParallelSubsetSearch<T> {
+    /** number of additional levels to split so that busy threads can steal work */
+    private static final int EXTRA_SPLIT_DEPTH = 4;
+
+    private final Function<SubsetPredicate<T>, SubsetSearch<T>> searchFactory;
+    private final Supplier<? extends SubsetPredicate<T>> criteria;
+    private final ForkJoinPool pool;
+    private final int splitDepth;
+
+    /**
+     * @param searchFactory creates the search for a predicate (e.g. {@code SubsetSearch::uniformSign})
+     * @param criteria supplies a new predicate for each task
+     * @param pool the pool for running the tasks
+     * @param splitDepth the number of items for which the search will be split into separate tasks
+     */
+    public ParallelSubsetSearch(Function<SubsetPredicate<T>, SubsetSearch<T>> searchFactory,
+                                Supplier<? extends SubsetPredicate<T>> criteria, ForkJoinPool pool, int splitDepth) {
+        this.searchFactory = searchFactory;
+        this.criteria = criteria;
+        this.pool = pool;
+        this.splitDepth = splitDepth;
+    }
+
+    /**
+     * Perform the search for subsets matching the criteria.
+     * @return the matching subsets
+     */
+    public List<List<T>> findSubSets(Collection<T> items) {
+        return findSubSets(new ArrayList<>(items));
+    }
+
+    /**
+     * Perform the search for subsets matching the criteria.
+     * @return the matching subsets
+     */
+    public List<List<T>> findSubSets(List<T> items) {
+        return pool.invoke(new SearchTask(items, Collections.emptyList(), 0));
+    }
+
+    /**
+     * Create a {@link ParallelSubsetSearch} for use on a collection having uniform sign, using the common pool.
+     * @see SubsetSearch#uniformSign(SubsetPredicate)
+     */
+    public static <T> ParallelSubsetSearch<T> uniformSign(Supplier<? extends SubsetPredicate<T>> criteria) {
+        ForkJoinPool pool = ForkJoinPool.commonPool();
+        return new ParallelSubsetSearch<>(SubsetSearch::uniformSign, criteria, pool, defaultSplitDepth(pool));
+    }
+
+    /**
+     * Create a {@link ParallelSubsetSearch} for use on a collection having mixed sign, using the common pool.
+     * @see SubsetSearch#mixedSign(SubsetPredicate)
+     */
+    public static <T> ParallelSubsetSearch<T> mixedSign(Supplier<? extends SubsetPredicate<T>> criteria) {
+        ForkJoinPool pool = ForkJoinPool.commonPool();
+        return new ParallelSubsetSearch<>(SubsetSearch::mixedSign, criteria, pool, defaultSplitDepth(pool));
+    }
+
+    /**
+     * @return enough split levels to create several tasks for each thread in the pool
+     */
+    private static int defaultSplitDepth(ForkJoinPool pool) {
+        return 32 - Integer.numberOfLeadingZeros(pool.getParallelism()) + EXTRA_SPLIT_DEPTH;
+    }
+
+    /**
+     * Search the supersets of {@code prefix} that contain any of the items starting at {@code index}.  If the predicate
+     * implements {@link BoundedSubsetPredicate}, then no task is created for supersets that can not match.
+     */
+    private class SearchTask extends RecursiveTask<List<List<T>>> {
+        private static final long serialVersionUID = 1L;
+        private final List<T> items;
+        private final List<T> prefix;
+        private final int index;
+
+        public SearchTask(List<T> items, List<T> prefix, int index) {
+            this.items = items;
+            this.prefix = prefix;
+            this.index = index;
+        }
+
+        protected List<List<T>> compute() {
+            if (index == items.size()) {
+                return Collections.emptyList();
+            }
+            SubsetSearch<T> search = searchFactory.apply(criteria.get());
+            if (index >= splitDepth) {
+                return search.findSubSets(prefix, items.subList(index, items.size()));
+            }
+            search.start(prefix, items);
+            boolean extendPrefix = search.canReach(index + 1);
+            SubsetPredicateResult result = search.add(index);
+            SearchTask excludeTask = null;
+            if (extendPrefix) {
+                excludeTask = new SearchTask(items, prefix, index + 1);
+                excludeTask.fork();
+            }
+            List<T> subset = new ArrayList<>(prefix.size() + 1);
+            subset.addAll(prefix);
+            subset.add(items.get(index));
+            List<List<T>> matches = new ArrayList<>();
+            if (result == SubsetPredicateResult.MATCH) {
+                matches.add(subset);
+            }
+            if (! search.isEndNode(result) && search.canReach(index + 1)) {
+                matches.addAll(new SearchTask(items, subset, index + 1).compute());
+            }
+            if (excludeTask != null) {
+                matches.addAll(excludeTask.join());
+            }
+            return matches;
+        }
+    }
+}
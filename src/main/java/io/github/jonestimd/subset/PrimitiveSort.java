@@ -0,0 +1,80 @@
+package io.github.jonestimd.subset;
+
+import java.util.Arrays;
+
+/**
+ * Sorting for parallel arrays of primitive keys and values.
+ */
+class PrimitiveSort {
+    private static final int DIGIT_BITS = 16;
+    private static final int DIGITS = 1 << DIGIT_BITS;
+    private static final int DIGIT_MASK = DIGITS - 1;
+    /** arrays up to this length are sorted by insertion instead of scanning the digit counts */
+    private static final int INSERTION_SORT_LENGTH = 256;
+
+    private PrimitiveSort() {}
+
+    /**
+     * Sort {@code keys} in ascending order and rearrange {@code values} in the same order.  The sort is stable.
+     */
+    public static void sort(long[] keys, int[] values) {
+        int length = keys.length;
+        if (length <= INSERTION_SORT_LENGTH) {
+            insertionSort(keys, values);
+            return;
+        }
+        long[] keyBuffer = new long[length];
+        int[] valueBuffer = new int[length];
+        int[] counts = new int[DIGITS + 1];
+        for (int shift = 0; shift < Long.SIZE; shift += DIGIT_BITS) {
+            if (countDigits(keys, shift, counts)) {
+                for (int i = 0; i < length; i++) {
+                    int position = counts[digit(keys[i], shift)]++;
+                    keyBuffer[position] = keys[i];
+                    valueBuffer[position] = values[i];
+                }
+                System.arraycopy(keyBuffer, 0, keys, 0, length);
+                System.arraycopy(valueBuffer, 0, values, 0, length);
+            }
+        }
+    }
+
+    private static void insertionSort(long[] keys, int[] values) {
+        for (int i = 1; i < keys.length; i++) {
+            long key = keys[i];
+            int value = values[i];
+            int j = i;
+            for (; j > 0 && keys[j - 1] > key; j--) {
+                keys[j] = keys[j - 1];
+                values[j] = values[j - 1];
+            }
+            keys[j] = key;
+            values[j] = value;
+        }
+    }
+
+    /**
+     * Populate {@code counts} with the starting position for each digit.
+     * @return false if all of the keys have the same digit
+     */
+    private static boolean countDigits(long[] keys, int shift, int[] counts) {
+        Arrays.fill(counts, 0);
+        for (long key : keys) {
+            counts[digit(key, shift) + 1]++;
+        }
+        for (int i = 0; i < DIGITS; i++) {
+            if (counts[i + 1] == keys.length) {
+                return false;
+            }
+            counts[i + 1] += counts[i];
+        }
+        return true;
+    }
+
+    /**
+     * @return the digit of the key (with the sign bit inverted so that negative keys are sorted first)
+     */
+    private static int digit(long key, int shift) {
+        return (int) ((key ^ Long.MIN_VALUE) >>> shift) & DIGIT_MASK;
+    }
+}
@@ -0,0 +1,134 @@
+package io.github.jonestimd.subset;
+
+import java.util.Arrays;
+
+/**
+ * A bitset of the sums that can be reached by subsets of positive values.  Bit {@code n} is set if there is a
+ * subset having the sum {@code n}.  Used to quickly check if a target can be reached before enumerating subsets.
+ * Adding a value is a shift and OR of the bitset, which uses SIMD instructions when they are available (see
+ * {@link BitsetKernel}).
+ */
+class ReachableSums {
+    /** the largest sum that will be tracked (the bitset uses 2MB) */
+    static final long MAX_SUM = 1L << 24;
+    /** the largest number of word updates that will be performed */
+    static final long MAX_WORK = 1L << 28;
+    private static final BitsetKernel KERNEL = BitsetKernel.get();
+
+    private long maxSum;
+    private final long[] bits;
+    /** upper bound of the reachable sums */
+    private long highestSum;
+
+    /**
+     * @param maxSum the largest sum to track
+     */
+    public ReachableSums(long maxSum) {
+        this.maxSum = maxSum;
+        this.bits = new long[(int) (maxSum >>> 6) + 1];
+    }
+
+    /**
+     * Calculate the reachable sums for {@code values} if it is cheaper than enumerating the subsets.
+     * @param values positive values in ascending order
+     * @param maxSum the largest sum to track
+     * @return the reachable sums or {@code null} if the values are not all positive or the range is too large
+     */
+    public static ReachableSums of(long[] values, long maxSum) {
+        return of(values, maxSum, null);
+    }
+
+    /**
+     * Calculate the reachable sums for {@code values} if it is cheaper than enumerating the subsets.
+     * @param values positive values in ascending order
+     * @param maxSum the largest sum to track
+     * @param previous the result of a previous calculation to reuse if it is large enough, or {@code null}
+     * @return the reachable sums or {@code null} if the values are not all positive or the range is too large
+     */
+    public static ReachableSums of(long[] values, long maxSum, ReachableSums previous) {
+        if (maxSum < 0 || maxSum > MAX_SUM || values.length * ((maxSum >>> 6) + 1) > MAX_WORK
+                || values.length > 0 && values[0] <= 0) {
+            return null;
+        }
+        ReachableSums reachableSums = previous != null && previous.reset(maxSum) ? previous : new ReachableSums(maxSum);
+        for (long value : values) {
+            reachableSums.add(value);
+        }
+        return reachableSums;
+    }
+
+    /**
+     * Remove all of the sums and change the largest sum to track.
+     * @return false if the bitset is not large enough for {@code maxSum}
+     */
+    private boolean reset(long maxSum) {
+        if ((maxSum >>> 6) >= bits.length) {
+            return false;
+        }
+        Arrays.fill(bits, 0, (int) (this.maxSum >>> 6) + 1, 0L);
+        this.maxSum = maxSum;
+        this.highestSum = 0L;
+        return true;
+    }
+
+    /**
+     * Add a value to the collection.  The value and the sum of the value with every reachable sum become reachable.
+     */
+    public void add(long value) {
+        if (value > maxSum) {
+            return;
+        }
+        highestSum = Math.min(highestSum + value, maxSum);
+        int words = (int) (value >>> 6);
+        int shift = (int) (value & 63);
+        KERNEL.shiftOr(bits, (int) (highestSum >>> 6), words, shift);
+        bits[words] |= bits[0] << shift | 1L << shift;
+    }
+
+    /**
+     * @return true if a non-empty subset has the sum {@code sum}
+     */
+    public boolean contains(long sum) {
+        return sum > 0 && sum <= maxSum && (bits[(int) (sum >>> 6)] & 1L << sum) != 0;
+    }
+
+    /**
+     * @return the largest reachable sum in the range {@code [from, to]} or -1 if none of the sums are reachable
+     */
+    public long highest(long from, long to) {
+        from = Math.max(from, 1L);
+        to = Math.min(to, maxSum);
+        if (from > to) {
+            return -1L;
+        }
+        int first = (int) (from >>> 6);
+        int word = (int) (to >>> 6);
+        long masked = bits[word] & (-1L >>> (63 - (to & 63)));
+        while (masked == 0 && word > first) {
+            masked = bits[--word];
+        }
+        if (masked != 0) {
+            long highest = ((long) word << 6) + 63 - Long.numberOfLeadingZeros(masked);
+            if (highest >= from) {
+                return highest;
+            }
+        }
+        return -1L;
+    }
+
+    /**
+     * @return the number of reachable sums in the range {@code [1, to]}
+     */
+    public int count(long to) {
+        to = Math.min(to, maxSum);
+        if (to < 1) {
+            return 0;
+        }
+        int word = (int) (to >>> 6);
+        int count = Long.bitCount(bits[word] & (-1L >>> (63 - (to & 63))));
+        for (int i = 0; i < word; i++) {
+            count += Long.bitCount(bits[i]);
+        }
+        return count;
+    }
+}
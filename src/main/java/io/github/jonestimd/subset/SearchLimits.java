@@ -0,0 +1,116 @@
+package io.github.jonestimd.subset;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Limits for stopping a search before all of the subsets have been visited.  A search can be limited by elapsed time,
+ * by the number of subsets visited and by a cancellation flag.  Instances of this class are immutable.
+ */
+public class SearchLimits {
+    private static final SearchLimits NONE = new SearchLimits(null, null, Long.MAX_VALUE, () -> false);
+    /** number of nodes between checks of the clock and the cancellation flag */
+    private static final int CHECK_INTERVAL = 1024;
+
+    private final Duration timeout;
+    private final Instant deadline;
+    private final long maxNodes;
+    private final BooleanSupplier cancelled;
+
+    private SearchLimits(Duration timeout, Instant deadline, long maxNodes, BooleanSupplier cancelled) {
+        this.timeout = timeout;
+        this.deadline = deadline;
+        this.maxNodes = maxNodes;
+        this.cancelled = cancelled;
+    }
+
+    /**
+     * @return limits that allow a search to visit all of the subsets
+     */
+    public static SearchLimits none() {
+        return NONE;
+    }
+
+    /**
+     * @param timeout the maximum time for a search, starting when the search begins
+     * @return a copy of this instance with the timeout
+     */
+    public SearchLimits withTimeout(Duration timeout) {
+        return new SearchLimits(timeout, deadline, maxNodes, cancelled);
+    }
+
+    /**
+     * @param deadline the time when a search must stop
+     * @return a copy of this instance with the deadline
+     */
+    public SearchLimits withDeadline(Instant deadline) {
+        return new SearchLimits(timeout, deadline, maxNodes, cancelled);
+    }
+
+    /**
+     * @param maxNodes the maximum number of subsets to visit
+     * @return a copy of this instance with the node limit
+     */
+    public SearchLimits withMaxNodes(long maxNodes) {
+        return new SearchLimits(timeout, deadline, maxNodes, cancelled);
+    }
+
+    /**
+     * @param cancelled a flag that can be set by another thread to stop the search (e.g. {@code AtomicBoolean::get})
+     * @return a copy of this instance with the cancellation flag
+     */
+    public SearchLimits withCancellation(BooleanSupplier cancelled) {
+        return new SearchLimits(timeout, deadline, maxNodes, cancelled);
+    }
+
+    /**
+     * Start tracking the limits for a search.
+     */
+    Budget start() {
+        return new Budget();
+    }
+
+    /**
+     * Tracks the usage of the limits by a single search.
+     */
+    class Budget {
+        private final long endNanos;
+        private final boolean timed;
+        private long nodes;
+
+        private Budget() {
+            long remaining = Long.MAX_VALUE;
+            if (timeout != null) {
+                remaining = toNanos(timeout);
+            }
+            if (deadline != null) {
+                remaining = Math.min(remaining, toNanos(Duration.between(Instant.now(), deadline)));
+            }
+            this.timed = remaining != Long.MAX_VALUE;
+            this.endNanos = System.nanoTime() + remaining;
+        }
+
+        private long toNanos(Duration duration) {
+            try {
+                return duration.toNanos();
+            } catch (ArithmeticException ex) {
+                return duration.isNegative() ? 0L : Long.MAX_VALUE;
+            }
+        }
+
+        /**
+         * Count a visited node.
+         * @return false if the search should stop before visiting the node
+         */
+        public boolean nextNode() {
+            if (nodes++ >= maxNodes) {
+                return false;
+            }
+            if (nodes % CHECK_INTERVAL == 1) {
+                return ! cancelled.getAsBoolean() && ! (timed && System.nanoTime() - endNanos >= 0);
+            }
+            return true;
+        }
+    }
+}
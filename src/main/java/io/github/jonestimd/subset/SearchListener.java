@@ -0,0 +1,22 @@
+package io.github.jonestimd.subset;
+
+/**
+ * Receives the {@link SearchStats} of a search, e.g. to publish them to a metrics system.  The methods are called on
+ * the thread performing the search.
+ */
+public interface SearchListener {
+    /**
+     * Called when a phase of the search has completed.
+     * @param phase the phase
+     * @param nanos the elapsed time of the phase in nanoseconds
+     */
+    default void phaseCompleted(SearchStats.Phase phase, long nanos) {
+    }
+
+    /**
+     * Called when the search has completed.
+     * @param stats the statistics of the search
+     */
+    default void searchCompleted(SearchStats stats) {
+    }
+}
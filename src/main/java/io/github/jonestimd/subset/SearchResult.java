@@ -0,0 +1,45 @@
+package io.github.jonestimd.subset;
+
+import java.util.List;
+
+/**
+ * The matches found by a search that may have been stopped by {@link SearchLimits}, and the statistics of the search
+ * if it was started with a {@link SearchListener}.
+ * @param <T> the type of the collection items
+ */
+public class SearchResult<T> {
+    private final List<List<T>> subsets;
+    private final boolean partial;
+    private final SearchStats stats;
+
+    public SearchResult(List<List<T>> subsets, boolean partial) {
+        this(subsets, partial, null);
+    }
+
+    public SearchResult(List<List<T>> subsets, boolean partial, SearchStats stats) {
+        this.subsets = subsets;
+        this.partial = partial;
+        this.stats = stats;
+    }
+
+    /**
+     * @return the matching subsets
+     */
+    public List<List<T>> getSubsets() {
+        return subsets;
+    }
+
+    /**
+     * @return true if the search was stopped before all of the subsets were visited
+     */
+    public boolean isPartial() {
+        return partial;
+    }
+
+    /**
+     * @return the statistics of the search or {@code null} if they were not collected
+     */
+    public SearchStats getStats() {
+        return stats;
+    }
+}
@@ -0,0 +1,153 @@
+package io.github.jonestimd.subset;
+
+import java.util.Arrays;
+
+/**
+ * Statistics for a single search.  The statistics are only collected when a search is started with a
+ * {@link SearchListener} (e.g. {@link SubsetSearch#findSubSets(java.util.List, SearchLimits, SearchListener)} or
+ * {@link SubsetSumSolver#solve(java.util.Collection, long, long, int, java.util.function.Function, SearchListener)}),
+ * so searches without a listener do not pay for them.
+ */
+public class SearchStats {
+    /** estimated heap memory for each slot of the sum table (the sum and the slot's head, tail and size) */
+    private static final int SLOT_BYTES = Long.BYTES + 3 * Integer.BYTES;
+
+    /**
+     * The phases of a search.
+     */
+    public enum Phase {
+        /** conversion of {@link java.math.BigDecimal} values to {@code long} */
+        SCALE,
+        /** sorting the items by value */
+        SORT,
+        /** calculating the subsets for each sum (dynamic programming) */
+        BUILD,
+        /** visiting the subsets of the collection ({@link SubsetSearch}) */
+        SEARCH,
+        /** creating the matching subsets of items */
+        RECONSTRUCT
+    }
+
+    private final SearchListener listener;
+    private final long[] phaseNanos = new long[Phase.values().length];
+    private final long[] results = new long[SubsetPredicateResult.values().length];
+    private final long[] prunes = new long[SubsetPredicateResult.values().length];
+    private long nodes;
+    private long matches;
+    private int tableSize;
+    private int peakBucketSize;
+    private long estimatedBytes;
+
+    /**
+     * @param listener the listener to notify or {@code null}
+     */
+    SearchStats(SearchListener listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * @return the elapsed time of a phase in nanoseconds
+     */
+    public long getPhaseNanos(Phase phase) {
+        return phaseNanos[phase.ordinal()];
+    }
+
+    /**
+     * @return the number of subsets visited by {@link SubsetSearch} or created by {@link SubsetSum}
+     */
+    public long getNodes() {
+        return nodes;
+    }
+
+    /**
+     * @return the number of subsets for which the predicate returned {@code result}
+     */
+    public long getResults(SubsetPredicateResult result) {
+        return results[result.ordinal()];
+    }
+
+    /**
+     * @return the number of subsets with result {@code result} whose supersets were skipped
+     */
+    public long getPrunes(SubsetPredicateResult result) {
+        return prunes[result.ordinal()];
+    }
+
+    /**
+     * @return the number of matching subsets
+     */
+    public long getMatches() {
+        return matches;
+    }
+
+    /**
+     * @return the number of distinct sums calculated by {@link SubsetSum}
+     */
+    public int getTableSize() {
+        return tableSize;
+    }
+
+    /**
+     * @return the largest number of subsets for a single sum calculated by {@link SubsetSum}
+     */
+    public int getPeakBucketSize() {
+        return peakBucketSize;
+    }
+
+    /**
+     * @return the estimated memory for the sum table and subsets of {@link SubsetSum} in bytes
+     */
+    public long getEstimatedBytes() {
+        return estimatedBytes;
+    }
+
+    /**
+     * @return the start time for {@link #endPhase(Phase, long)}
+     */
+    long startPhase() {
+        return System.nanoTime();
+    }
+
+    void endPhase(Phase phase, long startNanos) {
+        long nanos = System.nanoTime() - startNanos;
+        phaseNanos[phase.ordinal()] += nanos;
+        if (listener != null) {
+            listener.phaseCompleted(phase, nanos);
+        }
+    }
+
+    /**
+     * Record a subset visited by {@link SubsetSearch}.
+     * @param extended true if the supersets of the subset will be visited
+     */
+    void nodeVisited(SubsetPredicateResult result, boolean extended) {
+        nodes++;
+        results[result.ordinal()]++;
+        if (! extended) {
+            prunes[result.ordinal()]++;
+        }
+    }
+
+    /**
+     * Record the size of the table built by {@link SubsetSum}.
+     */
+    void tableBuilt(int tableSize, int peakBucketSize, int links) {
+        this.nodes += links;
+        this.tableSize = tableSize;
+        this.peakBucketSize = peakBucketSize;
+        this.estimatedBytes = (long) tableSize * SLOT_BYTES + (long) links * SubsetLinks.LINK_BYTES;
+    }
+
+    void completed(int matches) {
+        this.matches = matches;
+        if (listener != null) {
+            listener.searchCompleted(this);
+        }
+    }
+
+    public String toString() {
+        return "SearchStats{nodes=" + nodes + ", results=" + Arrays.toString(results) + ", prunes=" + Arrays.toString(prunes)
+                + ", matches=" + matches + ", tableSize=" + tableSize + ", peakBucketSize=" + peakBucketSize
+                + ", estimatedBytes=" + estimatedBytes + ", phaseNanos=" + Arrays.toString(phaseNanos) + "}";
+    }
+}
@@ -0,0 +1,250 @@
+package io.github.jonestimd.subset;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * Compact storage for the subsets of each slot in a {@link SumTable}.  Each subset is stored as a link containing
+ * the index of its last item and the link for the subset without that item, so extending a subset only adds one link
+ * instead of copying the subset.  The links for a slot are kept in insertion order.
+ *
+ * <p>Optionally, the memory used for the links can be limited.  Once the limit is reached, additional links are
+ * stored in a memory mapped file (see {@link LinkFile}).
+ */
+class SubsetLinks implements Closeable {
+    private static final int NONE = -1;
+    /** the heap memory used by each link */
+    static final int LINK_BYTES = 3 * Integer.BYTES;
+
+    // per slot
+    private int[] heads;
+    private int[] tails;
+    private int[] sizes;
+    // per link
+    private int[] items;
+    private int[] previous;
+    private int[] next;
+    private int linkCount;
+    /** the maximum number of links to keep on the heap */
+    private final long maxHeapLinks;
+    /** the directory for the spill file */
+    private final Path spillDirectory;
+    /** storage for links after the first {@code items.length} or {@code null} if the links have not been spilled */
+    private LinkFile spill;
+
+    public SubsetLinks(int slotCapacity, int linkCapacity) {
+        this(slotCapacity, linkCapacity, Long.MAX_VALUE, null);
+    }
+
+    /**
+     * @param maxHeapBytes the heap memory to use for links before spilling to a file
+     * @param spillDirectory the directory for the spill file or {@code null} for no limit
+     */
+    public SubsetLinks(int slotCapacity, int linkCapacity, long maxHeapBytes, Path spillDirectory) {
+        this.maxHeapLinks = spillDirectory == null ? Integer.MAX_VALUE : Math.max(maxHeapBytes / LINK_BYTES, 4);
+        this.spillDirectory = spillDirectory;
+        linkCapacity = (int) Math.min(linkCapacity, maxHeapLinks);
+        heads = new int[Math.max(slotCapacity, 4)];
+        tails = new int[heads.length];
+        sizes = new int[heads.length];
+        items = new int[Math.max(linkCapacity, 4)];
+        previous = new int[items.length];
+        next = new int[items.length];
+    }
+
+    /**
+     * Remove all of the subsets, keeping the allocated capacity.
+     */
+    public void clear() {
+        Arrays.fill(sizes, 0);
+        linkCount = 0;
+    }
+
+    /**
+     * Append a subset to a slot.
+     * @param slot the slot of the subset's sum
+     * @param item the index of the last item in the subset
+     * @param link the link for the rest of the subset or -1 if the subset only contains {@code item}
+     * @return the new link
+     */
+    public int add(int slot, int item, int link) {
+        growSlots(slot);
+        int newLink = linkCount++;
+        if (newLink < items.length || growLinks()) {
+            items[newLink] = item;
+            previous[newLink] = link;
+            next[newLink] = NONE;
+        }
+        else {
+            spill.set(newLink - items.length, item, link, NONE);
+        }
+        if (sizes[slot]++ == 0) {
+            heads[slot] = newLink;
+        }
+        else {
+            setNext(tails[slot], newLink);
+        }
+        tails[slot] = newLink;
+        return newLink;
+    }
+
+    /**
+     * Reserve a block of consecutive links to be populated by {@link #set(int, int, int, int)} and added to a slot by
+     * {@link #append(int, int, int)}.  After the block is reserved, the links in the block can be populated by
+     * multiple threads, as long as each link is only set by one thread and no other methods are called.
+     * @return the first link in the block
+     */
+    public int reserve(int count) {
+        int first = linkCount;
+        linkCount += count;
+        while (linkCount > items.length && growLinks()) {
+            // grow until the block fits or the links are spilled
+        }
+        if (linkCount > items.length) {
+            spill.reserve(linkCount - items.length);
+        }
+        return first;
+    }
+
+    /**
+     * Populate a link reserved by {@link #reserve(int)}.
+     * @param item the index of the last item in the subset
+     * @param previousLink the link for the rest of the subset or -1 if the subset only contains {@code item}
+     * @param nextLink the following link in the same slot or -1 if {@code link} will be the last one
+     */
+    public void set(int link, int item, int previousLink, int nextLink) {
+        if (link < items.length) {
+            items[link] = item;
+            previous[link] = previousLink;
+            next[link] = nextLink;
+        }
+        else {
+            spill.set(link - items.length, item, previousLink, nextLink);
+        }
+    }
+
+    /**
+     * Append a block of links populated by {@link #set(int, int, int, int)} to a slot.  The links in the block must
+     * be chained using their next links.
+     * @param first the first link in the block
+     * @param count the number of links in the block
+     */
+    public void append(int slot, int first, int count) {
+        growSlots(slot);
+        if (sizes[slot] == 0) {
+            heads[slot] = first;
+        }
+        else {
+            setNext(tails[slot], first);
+        }
+        tails[slot] = first + count - 1;
+        sizes[slot] += count;
+    }
+
+    private void growSlots(int slot) {
+        if (slot >= heads.length) {
+            int capacity = Math.max(heads.length * 2, slot + 1);
+            heads = Arrays.copyOf(heads, capacity);
+            tails = Arrays.copyOf(tails, capacity);
+            sizes = Arrays.copyOf(sizes, capacity);
+        }
+    }
+
+    /**
+     * Increase the capacity of the link arrays.
+     * @return false if the capacity has reached the limit and the link must be stored in {@link #spill}
+     */
+    private boolean growLinks() {
+        if (spill == null && items.length < maxHeapLinks) {
+            int capacity = (int) Math.min(items.length * 2L, maxHeapLinks);
+            items = Arrays.copyOf(items, capacity);
+            previous = Arrays.copyOf(previous, capacity);
+            next = Arrays.copyOf(next, capacity);
+            return true;
+        }
+        if (spill == null) {
+            spill = new LinkFile(spillDirectory);
+        }
+        return false;
+    }
+
+    private void setNext(int link, int nextLink) {
+        if (link < items.length) {
+            next[link] = nextLink;
+        }
+        else {
+            spill.setNext(link - items.length, nextLink);
+        }
+    }
+
+    /**
+     * @return the total number of links
+     */
+    public int linkCount() {
+        return linkCount;
+    }
+
+    /**
+     * @return the number of subsets for a slot
+     */
+    public int size(int slot) {
+        return slot < sizes.length ? sizes[slot] : 0;
+    }
+
+    /**
+     * @return the first link for a slot
+     */
+    public int first(int slot) {
+        return heads[slot];
+    }
+
+    /**
+     * @return the following link in the same slot or -1 if {@code link} is the last one
+     */
+    public int next(int link) {
+        return link < items.length ? next[link] : spill.next(link - items.length);
+    }
+
+    private int previous(int link) {
+        return link < items.length ? previous[link] : spill.previous(link - items.length);
+    }
+
+    private int item(int link) {
+        return link < items.length ? items[link] : spill.item(link - items.length);
+    }
+
+    /**
+     * @return true if some of the links added since the last {@link #clear()} are stored in a file
+     */
+    public boolean isSpilled() {
+        // links are only stored in the file after the arrays have reached the memory budget
+        return linkCount > items.length;
+    }
+
+    /**
+     * @return the indexes of the items in the subset, in the order that they were added
+     */
+    public int[] indexes(int link) {
+        int length = 0;
+        for (int i = link; i != NONE; i = previous(i)) {
+            length++;
+        }
+        int[] indexes = new int[length];
+        for (int i = link; i != NONE; i = previous(i)) {
+            indexes[--length] = item(i);
+        }
+        return indexes;
+    }
+
+    /**
+     * Delete the spill file.
+     */
+    public void close() throws IOException {
+        if (spill != null) {
+            spill.close();
+            spill = null;
+        }
+    }
+}
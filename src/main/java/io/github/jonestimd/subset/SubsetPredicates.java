@@ -1,7 +1,10 @@
 package io.github.jonestimd.subset;
 
+import java.math.BigDecimal;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.List;
+import java.util.function.Function;
 
 /**
  * Utilities for creating {@link SubsetPredicate}s.
@@ -18,6 +21,39 @@ public class SubsetPredicates {
         return new AndSubsetPredicate<>(Arrays.asList(predicates));
     }
 
+    /**
+     * Create a predicate for finding subsets of {@code items} having the sum {@code goal}.  The values are converted to
+     * fixed-point so that the search only uses primitive arithmetic.  An {@link IntSubsetPredicate} is returned if
+     * the sums fit in an {@code int} and a {@link LongSubsetPredicate} is returned if they fit in a {@code long}.
+     * Otherwise, a {@link BigDecimalSubsetPredicate} is returned.  The predicate should only be used to search
+     * {@code items}.
+     * @param items the collection that will be searched
+     * @param adapter a function to extract {@link BigDecimal} values from the collection items
+     * @param goal the target sum for the subsets
+     * @param error margin of error for matching the target subset sum
+     */
+    public static <T> SubsetPredicate<T> sum(Collection<T> items, Function<T, BigDecimal> adapter, BigDecimal goal, BigDecimal error) {
+        int scale = BigDecimalToLong.maxScale(items.stream().map(adapter), goal, error);
+        try {
+            long longGoal = toLong(goal, scale);
+            long longError = toLong(error, scale);
+            long maxSum = Math.addExact(Math.abs(longGoal), Math.abs(longError));
+            for (T item : items) {
+                maxSum = Math.addExact(maxSum, Math.abs(toLong(adapter.apply(item), scale)));
+            }
+            if (maxSum <= Integer.MAX_VALUE) {
+                return new IntSubsetPredicate<>(item -> (int) toLong(adapter.apply(item), scale), (int) longGoal, (int) longError);
+            }
+            return new LongSubsetPredicate<>(item -> toLong(adapter.apply(item), scale), longGoal, longError);
+        } catch (ArithmeticException ex) {
+            return new BigDecimalSubsetPredicate<>(adapter, goal, error);
+        }
+    }
+
+    private static long toLong(BigDecimal value, int scale) {
+        return value.scaleByPowerOfTen(scale).longValueExact();
+    }
+
     private static class AndSubsetPredicate<T> implements SubsetPredicate<T> {
         private List<SubsetPredicate<? super T>> predicates;
 
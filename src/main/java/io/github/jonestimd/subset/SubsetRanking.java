@@ -0,0 +1,68 @@
+package io.github.jonestimd.subset;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.ToDoubleFunction;
+import java.util.stream.Collector;
+
+/**
+ * Rankings for selecting the best subsets returned by a search.  Use {@link #top(int, Comparator)} to collect the
+ * best subsets from a stream of subsets (e.g. {@link SubsetSum#streamSubsets(java.util.Collection, long, long, int, java.util.function.Function)}
+ * or {@link SubsetSearch#streamSubSets(List)}) without keeping all of the matches.
+ */
+public class SubsetRanking {
+    private SubsetRanking() {}
+
+    /**
+     * @return a ranking that prefers subsets with fewer items
+     */
+    public static <T> Comparator<List<T>> fewestItems() {
+        return Comparator.comparingInt(List::size);
+    }
+
+    /**
+     * Create a ranking that compares the items of the subsets in the order defined by {@code itemOrder}, e.g. a date
+     * comparator will prefer the subset containing the oldest item.  If one subset starts with all of the items of
+     * another subset, then the smaller subset is preferred.
+     * @param itemOrder the order of the items (preferred items first)
+     */
+    public static <T> Comparator<List<T>> byItems(Comparator<? super T> itemOrder) {
+        return (subset1, subset2) -> {
+            List<T> sorted1 = sort(subset1, itemOrder);
+            List<T> sorted2 = sort(subset2, itemOrder);
+            for (int i = 0; i < sorted1.size() && i < sorted2.size(); i++) {
+                int result = itemOrder.compare(sorted1.get(i), sorted2.get(i));
+                if (result != 0) {
+                    return result;
+                }
+            }
+            return Integer.compare(sorted1.size(), sorted2.size());
+        };
+    }
+
+    private static <T> List<T> sort(List<T> subset, Comparator<? super T> itemOrder) {
+        List<T> sorted = new ArrayList<>(subset);
+        sorted.sort(itemOrder);
+        return sorted;
+    }
+
+    /**
+     * @param cost a function that calculates the cost of a subset
+     * @return a ranking that prefers subsets with a lower cost
+     */
+    public static <T> Comparator<List<T>> byCost(ToDoubleFunction<? super List<T>> cost) {
+        return Comparator.comparingDouble(cost);
+    }
+
+    /**
+     * Create a collector that keeps the best {@code k} subsets using a bounded priority queue.  Subsets that rank the
+     * same are kept in the order that they were found.
+     * @param k the number of subsets to keep (negative for no limit)
+     * @param ranking the order of the subsets (best first)
+     * @return the best subsets, best first
+     */
+    public static <T> Collector<T, ?, List<T>> top(int k, Comparator<? super T> ranking) {
+        return Collector.of(() -> new TopK<T>(k, ranking), TopK::add, TopK::addAll, TopK::toList);
+    }
+}
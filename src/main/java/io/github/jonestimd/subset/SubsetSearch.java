@@ -2,7 +2,17 @@ package io.github.jonestimd.subset;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import com.google.common.collect.AbstractIterator;
 
 /**
  * This class finds subsets of a collection that match some criteria.  The criteria are specified by an implementation
@@ -21,27 +31,95 @@ import java.util.List;
  *     <li>{@link SubsetPredicateResult#NO_MATCH} - it is unknown if items should be added or removed</li>
  * </ul>
  *
+ * <p>If the predicate implements {@link BoundedSubsetPredicate}, then the supersets of a subset are also skipped when
+ * the predicate indicates that the remaining items can not complete a match.  For mixed sign collections, this
+ * avoids visiting all {@code 2^n} subsets.
+ *
+ * <p>A search created by {@link #exhaustive(IndexedSubsetPredicate)} visits every subset in Gray code order (see
+ * {@link Combinations#visitGrayCode(int, CombinationFlipVisitor)}), which requires half as many calls to the
+ * predicate when none of the subsets can be skipped.
+ *
  * <p><strong>Note:</strong> This class is not thread safe and each instance should only be accessed by a single thread.
+ * Use {@link ParallelSubsetSearch} to search a collection using multiple threads.
  */
 public abstract class SubsetSearch<T> {
     private SubsetPredicate<T> criteria;
+    /** true to visit the subsets in Gray code order */
+    private final boolean grayCode;
+    /** {@code criteria} if it supports item indexes, otherwise {@code null} */
+    private IndexedSubsetPredicate<T> indexedCriteria;
+    /** {@code criteria} if it supports bounds, otherwise {@code null} */
+    private BoundedSubsetPredicate<T> boundedCriteria;
+    private List<T> prefix = Collections.emptyList();
+    private List<T> items = Collections.emptyList();
     private List<List<T>> matches = new ArrayList<>();
-    private CombinationVisitor<T> accumulator = new CombinationVisitor<T>() {
-        public boolean itemAdded(List<T> subset, T item) {
-            SubsetPredicateResult result = criteria.apply(item);
+    /** statistics for the current search or {@code null} if they are not being collected */
+    private SearchStats stats;
+    private CombinationIndexVisitor accumulator = new CombinationIndexVisitor() {
+        public boolean itemAdded(int[] subset, int size) {
+            int index = subset[size - 1];
+            SubsetPredicateResult result = indexedCriteria == null ? criteria.apply(items.get(index)) : indexedCriteria.applyIndex(index);
             if (result == SubsetPredicateResult.MATCH) {
-                matches.add(subset);
+                List<T> match = new ArrayList<>(prefix.size() + size);
+                match.addAll(prefix);
+                for (int i = 0; i < size; i++) {
+                    match.add(items.get(subset[i]));
+                }
+                matches.add(match);
+            }
+            boolean extend = ! isEndNode(result) && canReach(index + 1);
+            if (stats != null) {
+                stats.nodeVisited(result, extend);
+            }
+            return extend;
+        }
+
+        public void itemRemoved(int index) {
+            if (indexedCriteria == null) {
+                criteria.remove(items.get(index));
+            }
+            else {
+                indexedCriteria.removeIndex(index);
+            }
+        }
+    };
+
+    private CombinationFlipVisitor flipAccumulator = new CombinationFlipVisitor() {
+        public void itemAdded(int index, long subset) {
+            if (indexedCriteria.applyIndex(index) == SubsetPredicateResult.MATCH) {
+                addMatch(subset);
             }
-            return ! isEndNode(result);
         }
 
-        public void itemRemoved(T item) {
-            criteria.remove(item);
+        public void itemRemoved(int index, long subset) {
+            if (indexedCriteria.removeIndex(index) == SubsetPredicateResult.MATCH) {
+                addMatch(subset);
+            }
+        }
+
+        private void addMatch(long subset) {
+            List<T> match = new ArrayList<>(prefix.size() + Long.bitCount(subset));
+            match.addAll(prefix);
+            for (long bits = subset; bits != 0L; bits &= bits - 1) {
+                match.add(items.get(Long.numberOfTrailingZeros(bits)));
+            }
+            matches.add(match);
         }
     };
 
     protected SubsetSearch(SubsetPredicate<T> criteria) {
+        this(criteria, false);
+    }
+
+    private SubsetSearch(SubsetPredicate<T> criteria, boolean grayCode) {
         this.criteria = criteria;
+        this.grayCode = grayCode;
+        if (criteria instanceof IndexedSubsetPredicate) {
+            this.indexedCriteria = (IndexedSubsetPredicate<T>) criteria;
+        }
+        if (criteria instanceof BoundedSubsetPredicate) {
+            this.boundedCriteria = (BoundedSubsetPredicate<T>) criteria;
+        }
     }
 
     /**
@@ -57,12 +135,183 @@ public abstract class SubsetSearch<T> {
      * @return the matching subsets
      */
     public List<List<T>> findSubSets(List<T> items) {
-        criteria.reset();
-        matches.clear();
-        Combinations.visitCombinations(items, accumulator);
+        return findSubSets(Collections.emptyList(), items);
+    }
+
+    /**
+     * Perform the search for subsets matching the criteria, treating items having the same key as interchangeable.
+     * Only one subset of the items is checked for each multiset of keys, so collections containing many equivalent
+     * items are searched much faster.  The items in the matches are grouped by key.
+     * @param key a function that returns equal values for items that have the same effect on the criteria
+     * @param canonical true to return one subset for each matching multiset of keys (using the first items having
+     * each key), false to return all of the matching subsets
+     * @return the matching subsets
+     */
+    public List<List<T>> findSubSets(Collection<T> items, Function<? super T, ?> key, boolean canonical) {
+        ItemGroups<T> groups = new ItemGroups<>(items, key);
+        start(Collections.emptyList(), groups.getItems());
+        CombinationWalk walk = new CombinationWalk(groups.getItems().size(), groups.nextGroupStarts(), accumulator);
+        while (walk.next()) {
+            // continue walking
+        }
+        List<List<T>> subsets = new ArrayList<>(matches.size());
+        for (List<T> match : matches) {
+            groups.expand(match.stream().mapToInt(groups::group).toArray(), canonical).forEachRemaining(subsets::add);
+        }
+        return subsets;
+    }
+
+    /**
+     * Perform the search for subsets matching the criteria, stopping if the limits are reached.
+     * @return the matching subsets and a flag indicating if the search was stopped before it was complete
+     */
+    public SearchResult<T> findSubSets(Collection<T> items, SearchLimits limits) {
+        return findSubSets(new ArrayList<>(items), limits);
+    }
+
+    /**
+     * Perform the search for subsets matching the criteria, stopping if the limits are reached.
+     * @return the matching subsets and a flag indicating if the search was stopped before it was complete
+     */
+    public SearchResult<T> findSubSets(List<T> items, SearchLimits limits) {
+        boolean partial = search(items, limits);
+        return new SearchResult<>(new ArrayList<>(matches), partial);
+    }
+
+    /**
+     * Perform the search for subsets matching the criteria, stopping if the limits are reached, and collect the
+     * statistics of the search.
+     * @param listener the listener to notify of the statistics or {@code null}
+     * @return the matching subsets, a flag indicating if the search was stopped before it was complete and the
+     * statistics of the search
+     */
+    public SearchResult<T> findSubSets(List<T> items, SearchLimits limits, SearchListener listener) {
+        SearchStats searchStats = new SearchStats(listener);
+        stats = searchStats;
+        try {
+            long start = searchStats.startPhase();
+            boolean partial = search(items, limits);
+            searchStats.endPhase(SearchStats.Phase.SEARCH, start);
+            searchStats.completed(matches.size());
+            return new SearchResult<>(new ArrayList<>(matches), partial, searchStats);
+        } finally {
+            stats = null;
+        }
+    }
+
+    /**
+     * @return true if the search was stopped before all of the subsets were visited
+     */
+    private boolean search(List<T> items, SearchLimits limits) {
+        start(Collections.emptyList(), items);
+        CombinationWalk walk = new CombinationWalk(items.size(), accumulator);
+        SearchLimits.Budget budget = limits.start();
+        while (walk.hasNext()) {
+            if (! budget.nextNode()) {
+                return true;
+            }
+            walk.next();
+        }
+        return false;
+    }
+
+    /**
+     * Create a stream that performs the search for subsets matching the criteria as the matches are consumed from the
+     * stream.  The search is stopped when the stream is closed or no more elements are consumed (e.g. when using
+     * {@link Stream#limit(long)} or {@link Stream#findFirst()}).  This instance must not be used for another search
+     * until the stream has been consumed.
+     * @return the matching subsets
+     */
+    public Stream<List<T>> streamSubSets(Collection<T> items) {
+        return streamSubSets(new ArrayList<>(items));
+    }
+
+    /**
+     * Create a stream that performs the search for subsets matching the criteria as the matches are consumed from the
+     * stream.  The search is stopped when the stream is closed or no more elements are consumed (e.g. when using
+     * {@link Stream#limit(long)} or {@link Stream#findFirst()}).  This instance must not be used for another search
+     * until the stream has been consumed.
+     * @return the matching subsets
+     */
+    public Stream<List<T>> streamSubSets(List<T> items) {
+        Iterator<List<T>> iterator = new AbstractIterator<List<T>>() {
+            private CombinationWalk walk;
+
+            protected List<T> computeNext() {
+                if (walk == null) {
+                    start(Collections.emptyList(), items);
+                    walk = new CombinationWalk(items.size(), accumulator);
+                }
+                while (matches.isEmpty()) {
+                    if (! walk.next()) {
+                        return endOfData();
+                    }
+                }
+                return matches.remove(0);
+            }
+        };
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED | Spliterator.NONNULL), false);
+    }
+
+    /**
+     * Perform the search for subsets matching the criteria and return the best matches.  The matches are ranked as
+     * they are found and only the best {@code k} matches are kept.
+     * @param k the maximum number of subsets to return (negative for no limit)
+     * @param ranking the order of the subsets (best first), e.g. {@link SubsetRanking#fewestItems()}
+     * @return the best matching subsets, best first
+     */
+    public List<List<T>> findBestSubSets(List<T> items, int k, Comparator<? super List<T>> ranking) {
+        return streamSubSets(items).collect(SubsetRanking.top(k, ranking));
+    }
+
+    /**
+     * Perform the search for subsets that contain all of {@code prefix} and any of {@code items}.  {@code prefix}
+     * itself is not checked.
+     * @return the matching subsets
+     */
+    List<List<T>> findSubSets(List<T> prefix, List<T> items) {
+        start(prefix, items);
+        if (grayCode && items.size() <= Combinations.MAX_GRAY_CODE_ITEMS) {
+            Combinations.visitGrayCode(items.size(), flipAccumulator);
+        }
+        else {
+            Combinations.visitCombinations(items.size(), accumulator);
+        }
         return matches;
     }
 
+    /**
+     * Prepare for a search of {@code items} with all of {@code prefix} in the working subset.
+     */
+    void start(List<T> prefix, List<T> items) {
+        if (indexedCriteria == null) {
+            criteria.reset();
+        }
+        else {
+            indexedCriteria.reset(items);
+        }
+        prefix.forEach(criteria::apply);
+        this.prefix = prefix;
+        this.items = items;
+        matches.clear();
+    }
+
+    /**
+     * Add the item at {@code index} of the items passed to {@link #start(List, List)} to the working subset.
+     * @return the predicate result for the working subset
+     */
+    SubsetPredicateResult add(int index) {
+        return indexedCriteria == null ? criteria.apply(items.get(index)) : indexedCriteria.applyIndex(index);
+    }
+
+    /**
+     * @return false if the predicate indicates that the items starting at {@code fromIndex} can not be added to the
+     * working subset to make a match
+     */
+    boolean canReach(int fromIndex) {
+        return boundedCriteria == null || boundedCriteria.canReach(fromIndex);
+    }
+
     /**
      * @return true if the result indicates that supersets of the current set will not match.
      */
@@ -92,4 +341,18 @@ public abstract class SubsetSearch<T> {
             }
         };
     }
-}
\ No newline at end of file
+
+    /**
+     * Create a {@link SubsetSearch} that visits all of the subsets of the collection.  {@link #findSubSets(List)}
+     * visits the subsets in Gray code order, so each subset only requires one call to the predicate.  The matches are
+     * returned in Gray code order instead of depth first order.  Use {@link #mixedSign(SubsetPredicate)} with a
+     * {@link BoundedSubsetPredicate} if many of the subsets can be skipped.
+     */
+    public static <T> SubsetSearch<T> exhaustive(IndexedSubsetPredicate<T> criteria) {
+        return new SubsetSearch<T>(criteria, true) {
+            protected boolean isEndNode(SubsetPredicateResult result) {
+                return false;
+            }
+        };
+    }
+}
@@ -0,0 +1,226 @@
+package io.github.jonestimd.subset;
+
+import java.math.BigDecimal;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.BooleanSupplier;
+import java.util.function.Function;
+
+/**
+ * Runs subset searches asynchronously using an {@link Executor} (e.g. a thread pool or an executor that creates a
+ * virtual thread for each task).  The searches are CPU bound, so the number of searches that run at the same time is
+ * limited by the {@code parallelism} of the service.  The other searches wait in a queue and are passed to the
+ * executor as the running searches finish, so waiting searches do not occupy the threads of the executor.
+ *
+ * <p>Cancelling the future of a queued search removes it from the queue.  {@link CompletableFuture#cancel(boolean)}
+ * does not interrupt the thread running a search, so the running searches check the future and stop soon after it
+ * is cancelled.  {@link SubsetSum} checks before adding each
+ * item to the subsets and {@link SubsetSearch} checks every 1024 subsets.
+ *
+ * <p>Instances of this class are thread safe.
+ */
+public class SubsetSolverService {
+    private final Executor executor;
+    private final int parallelism;
+    /** the searches waiting for a running search to finish */
+    private final Queue<Task<?>> queue = new ArrayDeque<>();
+    /** the number of searches that have been passed to the executor and have not finished */
+    private int running;
+
+    /**
+     * Create a service that runs one search for each available processor.
+     * @param executor the executor for running the searches
+     */
+    public SubsetSolverService(Executor executor) {
+        this(executor, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * @param executor the executor for running the searches
+     * @param parallelism the maximum number of searches to run at the same time
+     * @throws IllegalArgumentException if {@code parallelism} is less than 1
+     */
+    public SubsetSolverService(Executor executor, int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("invalid parallelism: " + parallelism);
+        }
+        this.executor = executor;
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * For a collection, find the subsets having the specified sum.
+     * @param items the collection to search
+     * @param sum the target sum for the subsets
+     * @param itemTolerance precision of the items in the collection
+     * @param maxResults the maximum number of subsets to return (negative for no limit)
+     * @param adapter a function to extract the value to sum from the collection items
+     * @return the matching subsets
+     * @see SubsetSum#subsets(Collection, long, long, int, Function)
+     */
+    public <T> CompletableFuture<List<List<T>>> subsets(Collection<T> items, long sum, long itemTolerance, int maxResults, Function<? super T, Long> adapter) {
+        List<T> list = new ArrayList<>(items);
+        return submit(cancelled -> new SubsetSumSolver().solve(ItemValues.of(list, adapter), sum, itemTolerance, maxResults, cancelled));
+    }
+
+    /**
+     * For a collection, find the subsets having the specified sum.
+     * @param sum the target sum for the subsets
+     * @param itemTolerance precision of the items in the collection
+     * @param items the collection to search
+     * @param adapter a function to extract the value to sum from the collection items
+     * @param maxResults the maximum number of subsets to return (negative for no limit)
+     * @return the matching subsets
+     * @see SubsetSum#subsets(BigDecimal, BigDecimal, Collection, Function, int)
+     */
+    public <T> CompletableFuture<List<List<T>>> subsets(BigDecimal sum, BigDecimal itemTolerance, Collection<T> items, Function<? super T, BigDecimal> adapter,
+            int maxResults) {
+        List<T> list = new ArrayList<>(items);
+        return submit(cancelled -> {
+            ItemValues<T> itemValues = ItemValues.scaled(list, adapter, sum, itemTolerance);
+            return new SubsetSumSolver().solve(itemValues, itemValues.scale(sum), itemValues.scale(itemTolerance), maxResults, cancelled);
+        });
+    }
+
+    /**
+     * Perform a search for subsets matching the criteria.  {@code search} must not be used by another thread until
+     * the future is complete.
+     * @param search the search to perform
+     * @param items the collection to search
+     * @return the matching subsets
+     */
+    public <T> CompletableFuture<List<List<T>>> findSubSets(SubsetSearch<T> search, Collection<T> items) {
+        List<T> list = new ArrayList<>(items);
+        return submit(cancelled -> {
+            SearchResult<T> result = search.findSubSets(list, SearchLimits.none().withCancellation(cancelled));
+            if (result.isPartial()) {
+                throw new CancellationException();
+            }
+            return result.getSubsets();
+        });
+    }
+
+    /**
+     * @return the number of searches that can be started without waiting for another search to finish
+     */
+    public synchronized int availablePermits() {
+        return parallelism - running;
+    }
+
+    /**
+     * @return the number of searches waiting for another search to finish
+     */
+    public synchronized int getQueueLength() {
+        return queue.size();
+    }
+
+    private <R> CompletableFuture<R> submit(Search<R> search) {
+        Task<R> task = new Task<>(search);
+        boolean start;
+        synchronized (this) {
+            start = running < parallelism;
+            if (start) {
+                running++;
+            }
+            else {
+                queue.add(task);
+            }
+        }
+        if (start && ! task.start()) {
+            startNext();
+        }
+        task.future.whenComplete((result, ex) -> {
+            if (task.future.isCancelled()) {
+                removeQueued(task);
+            }
+        });
+        return task.future;
+    }
+
+    private synchronized void removeQueued(Task<?> task) {
+        queue.remove(task);
+    }
+
+    /**
+     * Pass the permit of a finished search to the next queued search.
+     */
+    private void startNext() {
+        while (true) {
+            Task<?> next;
+            synchronized (this) {
+                next = queue.poll();
+                if (next == null) {
+                    running--;
+                    return;
+                }
+            }
+            if (next.start()) {
+                return;
+            }
+        }
+    }
+
+    private class Task<R> implements Runnable {
+        private final Search<R> search;
+        private final CompletableFuture<R> future = new CompletableFuture<>();
+
+        public Task(Search<R> search) {
+            this.search = search;
+        }
+
+        /**
+         * Pass the search to the executor.
+         * @return false if the search was cancelled or rejected by the executor
+         */
+        public boolean start() {
+            if (future.isDone()) {
+                return false;
+            }
+            try {
+                executor.execute(this);
+                return true;
+            } catch (RejectedExecutionException ex) {
+                future.completeExceptionally(ex);
+                return false;
+            }
+        }
+
+        public void run() {
+            R result = null;
+            Throwable failure = null;
+            try {
+                if (! future.isDone()) {
+                    result = search.apply(future::isCancelled);
+                }
+            } catch (Throwable ex) {
+                failure = ex;
+            } finally {
+                // start the next search before completing the future so that dependent actions see the free permit
+                startNext();
+            }
+            if (failure instanceof CancellationException) {
+                future.cancel(false);
+            }
+            else if (failure != null) {
+                future.completeExceptionally(failure);
+            }
+            else {
+                future.complete(result);
+            }
+        }
+    }
+
+    /**
+     * A search that stops with a {@link CancellationException} when {@code cancelled} returns true.
+     */
+    private interface Search<R> {
+        R apply(BooleanSupplier cancelled);
+    }
+}
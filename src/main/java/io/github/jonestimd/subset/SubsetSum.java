@@ -2,20 +2,23 @@ package io.github.jonestimd.subset;
 
 import java.math.BigDecimal;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
 import java.util.List;
-import java.util.Map;
-import java.util.Map.Entry;
-import java.util.TreeMap;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.BooleanSupplier;
 import java.util.function.Function;
-import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
-import com.google.common.collect.ArrayListMultimap;
-import com.google.common.collect.Multimap;
-import com.google.common.collect.Ordering;
+import com.google.common.collect.AbstractIterator;
 
 /**
  * For a collection, finds subsets having a specified sum.  The collection can contain numbers or a function can
@@ -25,6 +28,8 @@ import com.google.common.collect.Ordering;
 public class SubsetSum<V> {
     // used for initial sizing of collections
     private static final int EXPECTED_RESULTS = 5;
+    /** the number of new links for each parallel task when building the subsets using a pool */
+    static final int PARALLEL_LINKS = 1 << 14;
 
     // TODO replace subset tolerance with item tolerance and scale by subset size
     // TODO negative items
@@ -39,8 +44,7 @@ public class SubsetSum<V> {
      * @return the matching subsets
      */
     public static <T> List<List<T>> subsets(BigDecimal sum, BigDecimal itemTolerance, Collection<T> items, Function<? super T, BigDecimal> adapter, int maxResults) {
-        BigDecimalToLong bigDecimalToLong = new BigDecimalToLong(maxScale(items.stream().map(adapter), sum, itemTolerance));
-        return subsets(items, bigDecimalToLong.apply(sum), bigDecimalToLong.apply(itemTolerance), maxResults, bigDecimalToLong.compose(adapter));
+        return new SubsetSumSolver().solve(items, sum, itemTolerance, maxResults, adapter);
     }
 
     /**
@@ -51,7 +55,7 @@ public class SubsetSum<V> {
      * @return the matching subsets
      */
     public static List<List<BigDecimal>> subsets(BigDecimal sum, Collection<BigDecimal> items, int maxResults) {
-        BigDecimalToLong adapter = new BigDecimalToLong(maxScale(items.stream(), sum));
+        BigDecimalToLong adapter = new BigDecimalToLong(BigDecimalToLong.maxScale(items.stream(), sum));
         return subsets(items, adapter.apply(sum), 0L, maxResults, adapter);
     }
 
@@ -62,18 +66,10 @@ public class SubsetSum<V> {
      * @return the matching subsets
      */
     public static List<BigDecimal> subset(BigDecimal sum, Collection<BigDecimal> items) {
-        BigDecimalToLong adapter = new BigDecimalToLong(maxScale(items.stream(), sum));
+        BigDecimalToLong adapter = new BigDecimalToLong(BigDecimalToLong.maxScale(items.stream(), sum));
         return subset(items, adapter.apply(sum), adapter);
     }
 
-    private static int maxScale(Stream<BigDecimal> items, BigDecimal ... moreItems) {
-        int maxScale = items.mapToInt(BigDecimal::scale).max().orElse(Integer.MIN_VALUE);
-        for (BigDecimal value : moreItems) {
-            maxScale = Math.max(maxScale, value.scale());
-        }
-        return maxScale;
-    }
-
     /**
      * For a collection of numbers, find the subsets having the specified sum.
      * @param sum the target sum for the subsets
@@ -110,48 +106,293 @@ public class SubsetSum<V> {
      * @return the matching subsets
      */
     public static <T> List<List<T>> subsets(Collection<T> items, long sum, long itemTolerance, int maxResults, Function<? super T, Long> adapter) {
-        return sum == 0 ? Collections.<List<T>>emptyList() : new SubsetSum<>(maxResults, items, adapter).findSubsets(sum, itemTolerance);
+        return new SubsetSumSolver().solve(items, sum, itemTolerance, maxResults, adapter);
+    }
+
+    /**
+     * For a collection, create a stream of the subsets having the specified sum.  The search is performed when the
+     * first subset is consumed from the stream and each subset is created as it is consumed, so limiting the stream
+     * avoids creating the remaining subsets.
+     * @param sum the target sum for the subsets
+     * @param itemTolerance precision of the items in the collection
+     * @param items the collection to search
+     * @param adapter a function to extract the value to sum from the collection items
+     * @param maxResults the maximum number of subsets to return (negative for no limit)
+     * @return the matching subsets
+     */
+    public static <T> Stream<List<T>> streamSubsets(BigDecimal sum, BigDecimal itemTolerance, Collection<T> items, Function<? super T, BigDecimal> adapter, int maxResults) {
+        ItemValues<T> itemValues = ItemValues.scaled(items, adapter, sum, itemTolerance);
+        return streamSubsets(itemValues, itemValues.scale(sum), itemValues.scale(itemTolerance), maxResults);
+    }
+
+    /**
+     * For a collection, create a stream of the subsets having the specified sum.  The search is performed when the
+     * first subset is consumed from the stream and each subset is created as it is consumed, so limiting the stream
+     * avoids creating the remaining subsets.
+     * @param items the collection to search
+     * @param sum the target sum for the subsets
+     * @param itemTolerance precision of the items in the collection
+     * @param maxResults the maximum number of subsets to return (negative for no limit)
+     * @param adapter a function to extract the value to sum from the collection items
+     * @return the matching subsets
+     */
+    public static <T> Stream<List<T>> streamSubsets(Collection<T> items, long sum, long itemTolerance, int maxResults, Function<? super T, Long> adapter) {
+        if (sum == 0) {
+            return Stream.empty();
+        }
+        return StreamSupport.stream(() -> new SubsetSum<>(maxResults, items, adapter, new SubsetSumSolver()).streamMatches(sum, itemTolerance).spliterator(),
+                Spliterator.ORDERED | Spliterator.NONNULL, false);
+    }
+
+    private static <T> Stream<List<T>> streamSubsets(ItemValues<T> itemValues, long sum, long itemTolerance, int maxResults) {
+        if (sum == 0) {
+            return Stream.empty();
+        }
+        return StreamSupport.stream(() -> new SubsetSum<>(maxResults, itemValues, new SubsetSumSolver(), null).streamMatches(sum, itemTolerance).spliterator(),
+                Spliterator.ORDERED | Spliterator.NONNULL, false);
+    }
+
+    /**
+     * For a collection, find the best subsets having the specified sum.  All of the subsets for the closest sum are
+     * ranked as they are created and only the best {@code k} subsets are kept.  The subsets of every sum are
+     * calculated, so the memory used is that of {@code subsets()} with no limit on the results.
+     * @param sum the target sum for the subsets
+     * @param itemTolerance precision of the items in the collection
+     * @param items the collection to search
+     * @param adapter a function to extract the value to sum from the collection items
+     * @param k the maximum number of subsets to return (negative for no limit)
+     * @param ranking the order of the subsets (best first), e.g. {@link SubsetRanking#fewestItems()}
+     * @return the best matching subsets, best first
+     * @see #bestSubsets(BigDecimal, BigDecimal, Collection, Function, int, int, Comparator)
+     */
+    public static <T> List<List<T>> bestSubsets(BigDecimal sum, BigDecimal itemTolerance, Collection<T> items, Function<? super T, BigDecimal> adapter, int k,
+            Comparator<? super List<T>> ranking) {
+        return bestSubsets(sum, itemTolerance, items, adapter, k, -1, ranking);
+    }
+
+    /**
+     * For a collection, find an approximation of the best subsets having the specified sum.  The candidates are the
+     * subsets that would be returned by {@link #subsets(BigDecimal, BigDecimal, Collection, Function, int)} with
+     * {@code maxResults = maxCandidates}, so the memory used by the search is limited by {@code maxCandidates}.  The
+     * candidates are ranked as they are created and only the best {@code k} subsets are kept.  Subsets of the sum that
+     * are not among the candidates are not ranked, so a better subset may be missed unless {@code maxCandidates} is
+     * negative.
+     * @param sum the target sum for the subsets
+     * @param itemTolerance precision of the items in the collection
+     * @param items the collection to search
+     * @param adapter a function to extract the value to sum from the collection items
+     * @param k the maximum number of subsets to return (negative for no limit)
+     * @param maxCandidates the maximum number of subsets to calculate for each sum (negative for no limit, which can
+     * require memory proportional to the number of subsets of all of the sums)
+     * @param ranking the order of the subsets (best first), e.g. {@link SubsetRanking#fewestItems()}
+     * @return the best matching subsets, best first
+     */
+    public static <T> List<List<T>> bestSubsets(BigDecimal sum, BigDecimal itemTolerance, Collection<T> items, Function<? super T, BigDecimal> adapter, int k,
+            int maxCandidates, Comparator<? super List<T>> ranking) {
+        return streamSubsets(sum, itemTolerance, items, adapter, maxCandidates).collect(SubsetRanking.top(k, ranking));
+    }
+
+    /**
+     * For a collection, find the best subsets having the specified sum.  All of the subsets for the closest sum are
+     * ranked as they are created and only the best {@code k} subsets are kept.  The subsets of every sum are
+     * calculated, so the memory used is that of {@code subsets()} with no limit on the results.
+     * @param items the collection to search
+     * @param sum the target sum for the subsets
+     * @param itemTolerance precision of the items in the collection
+     * @param k the maximum number of subsets to return (negative for no limit)
+     * @param adapter a function to extract the value to sum from the collection items
+     * @param ranking the order of the subsets (best first), e.g. {@link SubsetRanking#fewestItems()}
+     * @return the best matching subsets, best first
+     * @see #bestSubsets(Collection, long, long, int, int, Function, Comparator)
+     */
+    public static <T> List<List<T>> bestSubsets(Collection<T> items, long sum, long itemTolerance, int k, Function<? super T, Long> adapter,
+            Comparator<? super List<T>> ranking) {
+        return bestSubsets(items, sum, itemTolerance, k, -1, adapter, ranking);
+    }
+
+    /**
+     * For a collection, find an approximation of the best subsets having the specified sum.  The candidates are the
+     * subsets that would be returned by {@link #subsets(Collection, long, long, int, Function)} with
+     * {@code maxResults = maxCandidates}, so the memory used by the search is limited by {@code maxCandidates}.  The
+     * candidates are ranked as they are created and only the best {@code k} subsets are kept.  Subsets of the sum that
+     * are not among the candidates are not ranked, so a better subset may be missed unless {@code maxCandidates} is
+     * negative.
+     * @param items the collection to search
+     * @param sum the target sum for the subsets
+     * @param itemTolerance precision of the items in the collection
+     * @param k the maximum number of subsets to return (negative for no limit)
+     * @param maxCandidates the maximum number of subsets to calculate for each sum (negative for no limit, which can
+     * require memory proportional to the number of subsets of all of the sums)
+     * @param adapter a function to extract the value to sum from the collection items
+     * @param ranking the order of the subsets (best first), e.g. {@link SubsetRanking#fewestItems()}
+     * @return the best matching subsets, best first
+     */
+    public static <T> List<List<T>> bestSubsets(Collection<T> items, long sum, long itemTolerance, int k, int maxCandidates, Function<? super T, Long> adapter,
+            Comparator<? super List<T>> ranking) {
+        return streamSubsets(items, sum, itemTolerance, maxCandidates, adapter).collect(SubsetRanking.top(k, ranking));
+    }
+
+    /**
+     * For a collection, find the subsets having each of the specified sums.  When the items are all positive, the
+     * subsets are calculated once for the largest target and used to answer all of the targets.
+     * @param targets the target sums and the precision of the items in the collection
+     * @param items the collection to search
+     * @param adapter a function to extract the value to sum from the collection items
+     * @param maxResults the maximum number of subsets to return for each target (negative for no limit)
+     * @return the matching subsets for each target, in the same order as {@code targets}
+     */
+    public static <T> List<List<List<T>>> batchSubsets(List<SumTarget<BigDecimal>> targets, Collection<T> items, Function<? super T, BigDecimal> adapter, int maxResults) {
+        BigDecimal[] targetValues = targets.stream().flatMap(target -> Stream.of(target.getSum(), target.getTolerance())).toArray(BigDecimal[]::new);
+        ItemValues<T> itemValues = ItemValues.scaled(items, adapter, targetValues);
+        List<SumTarget<Long>> longTargets = targets.stream()
+                .map(target -> SumTarget.of(itemValues.scale(target.getSum()), itemValues.scale(target.getTolerance())))
+                .collect(Collectors.toList());
+        return new SubsetSum<>(maxResults, itemValues, new SubsetSumSolver(), null).findSubsets(longTargets);
+    }
+
+    /**
+     * For a collection, find the subsets having each of the specified sums.  When the items are all positive, the
+     * subsets are calculated once for the largest target and used to answer all of the targets.
+     * @param items the collection to search
+     * @param targets the target sums and the precision of the items in the collection
+     * @param maxResults the maximum number of subsets to return for each target (negative for no limit)
+     * @param adapter a function to extract the value to sum from the collection items
+     * @return the matching subsets for each target, in the same order as {@code targets}
+     */
+    public static <T> List<List<List<T>>> batchSubsets(Collection<T> items, List<SumTarget<Long>> targets, int maxResults, Function<? super T, Long> adapter) {
+        return new SubsetSum<>(maxResults, items, adapter, new SubsetSumSolver()).findSubsets(targets);
     }
 
     private final int maxResults;
-    private final Collection<V> items;
-    private final Function<? super V, Long> adapter;
-    private final Predicate<V> notZero;
+    private final List<V> items;
+    /** the value of each item in {@link #items}, so that the adapter is only called once for each item */
+    private final long[] itemValues;
     private final long total;
-    private final Map<Long, List<List<V>>> subsetSums = new TreeMap<>();
+    /** provides the work buffers */
+    private final SubsetSumSolver solver;
+    /** statistics of the search or {@code null} if they are not being collected */
+    private final SearchStats stats;
+    /** checked before adding each item to the subsets */
+    private final BooleanSupplier cancelled;
+    private SumTable sumTable;
+    /** subsets for each slot in {@link #sumTable} */
+    private SubsetLinks subsetSums;
+    private List<V> sortedItems;
+    private long[] values;
 
-    private SubsetSum(int maxResults, Collection<V> items, Function<? super V, Long> adapter) {
-        this.items = items;
-        this.maxResults = maxResults;
-        this.adapter = adapter;
-        this.notZero = v -> adapter.apply(v) != 0L;
-        this.total = getTotal();
+    SubsetSum(int maxResults, Collection<V> items, Function<? super V, Long> adapter, SubsetSumSolver solver) {
+        this(maxResults, items, adapter, solver, null);
+    }
+
+    SubsetSum(int maxResults, Collection<V> items, Function<? super V, Long> adapter, SubsetSumSolver solver, SearchStats stats) {
+        this(maxResults, ItemValues.of(items, adapter), solver, stats);
+    }
+
+    SubsetSum(int maxResults, ItemValues<V> itemValues, SubsetSumSolver solver, SearchStats stats) {
+        this(maxResults, itemValues, solver, stats, () -> false);
     }
 
-    private long getTotal() {
+    /**
+     * @param cancelled a flag that can be set by another thread to stop the calculation with a
+     * {@link CancellationException}
+     */
+    SubsetSum(int maxResults, ItemValues<V> itemValues, SubsetSumSolver solver, SearchStats stats, BooleanSupplier cancelled) {
+        this.items = itemValues.getItems();
+        this.itemValues = itemValues.getValues();
+        this.solver = solver;
+        this.stats = stats;
+        this.cancelled = cancelled;
+        this.maxResults = maxResults;
         long sum = 0L;
-        for (V item : items) {
-            sum += adapter.apply(item);
+        for (long value : this.itemValues) {
+            sum += value;
         }
-        return sum;
+        this.total = sum;
     }
 
-    private List<List<V>> findSubsets(long sum, long itemTolerance) {
-        if (Math.abs(total - sum) <= itemTolerance * items.size()) {
-            List<List<V>> subsets = new ArrayList<>(1);
-            subsets.add(new ArrayList<>(items));
-            return subsets;
+    List<List<V>> findSubsets(long sum, long itemTolerance) {
+        if (stats == null) {
+            return streamMatches(sum, itemTolerance).collect(Collectors.toList());
         }
-        if (sum > total / 2) {
-            List<List<V>> subsets = getNearestMatch(total - sum, itemTolerance);
-            for (int i = 0; i < subsets.size(); i++) {
-                subsets.set(i, getComplement(subsets.get(i)));
-            }
-            return subsets;
+        Stream<List<V>> matches = streamMatches(sum, itemTolerance);
+        long start = stats.startPhase();
+        List<List<V>> subsets = matches.collect(Collectors.toList());
+        stats.endPhase(SearchStats.Phase.RECONSTRUCT, start);
+        stats.completed(subsets.size());
+        return subsets;
+    }
+
+    private Stream<List<V>> streamMatches(long sum, long itemTolerance) {
+        if (isWholeCollection(sum, itemTolerance)) {
+            return Stream.of(new ArrayList<>(items));
+        }
+        if (isComplement(sum)) {
+            return getNearestMatch(total - sum, itemTolerance).map(this::getComplement);
         }
         return getNearestMatch(sum, itemTolerance);
     }
 
+    private boolean isWholeCollection(long sum, long itemTolerance) {
+        return Math.abs(total - sum) <= itemTolerance * items.size();
+    }
+
+    /**
+     * @return true if the subsets for {@code sum} should be found by removing the subsets for {@code total - sum}
+     */
+    private boolean isComplement(long sum) {
+        return sum > total / 2;
+    }
+
+    /**
+     * Find the subsets for multiple targets.  If all of the items are positive, then the subsets are only
+     * calculated for the largest target.  Subsets having sums less than the largest target are not affected by
+     * the larger items, because the items are processed in ascending order.
+     */
+    private List<List<List<V>>> findSubsets(List<SumTarget<Long>> targets) {
+        List<List<List<V>>> results = new ArrayList<>(targets.size());
+        if (Arrays.stream(itemValues).anyMatch(value -> value < 0L)) {
+            for (SumTarget<Long> target : targets) {
+                results.add(target.getSum() == 0L ? Collections.emptyList() : findSubsets(target.getSum(), target.getTolerance()));
+            }
+            return results;
+        }
+        long maxSum = Long.MIN_VALUE;
+        for (SumTarget<Long> target : targets) {
+            long sum = target.getSum();
+            if (sum != 0L && ! isWholeCollection(sum, target.getTolerance())) {
+                long targetSum = isComplement(sum) ? total - sum : sum;
+                maxSum = Math.max(maxSum, targetSum + target.getTolerance() * items.size());
+            }
+        }
+        if (maxSum != Long.MIN_VALUE) {
+            sortItems(maxSum);
+            int expectedSize = items.size()*3;
+            ReachableSums reachableSums = solver.reachableSums(values, maxSum);
+            if (reachableSums != null) {
+                maxSum = reachableSums.highest(1L, maxSum);
+                expectedSize = reachableSums.count(maxSum);
+            }
+            buildSubsets(maxSum, expectedSize);
+        }
+        for (SumTarget<Long> target : targets) {
+            long sum = target.getSum();
+            long itemTolerance = target.getTolerance();
+            if (sum == 0L) {
+                results.add(Collections.emptyList());
+            }
+            else if (isWholeCollection(sum, itemTolerance)) {
+                results.add(Collections.singletonList(new ArrayList<>(items)));
+            }
+            else {
+                long targetSum = isComplement(sum) ? total - sum : sum;
+                int slot = getNearestSlot(targetSum, itemTolerance, targetSum + itemTolerance * items.size());
+                Stream<List<V>> subsets = slot < 0 ? Stream.empty() : getSubsets(slot);
+                results.add((isComplement(sum) ? subsets.map(this::getComplement) : subsets).collect(Collectors.toList()));
+            }
+        }
+        return results;
+    }
+
     private List<V> getComplement(List<V> toRemove) {
         List<V> result = new ArrayList<>(items);
         toRemove.forEach(result::remove);
@@ -160,101 +401,264 @@ public class SubsetSum<V> {
 
     /**
      * Calculate subsets with a sum &lt;= {@code target + itemTolerance*items.size()} and return the closest match(es).
+     * When the items are all positive and the range of sums is small, a bitset of the reachable sums is used to skip
+     * the calculation if there is no match and to limit the calculation to the reachable sums.
      * @param targetSum the target sum
      * @param itemTolerance precision of the collection item values
      * @return the subsets having the sum closest to the specified value
      */
-    private List<List<V>> getNearestMatch(long targetSum, long itemTolerance) {
-        buildSubsets(targetSum + itemTolerance * items.size());
-        List<List<V>> subsets = subsetSums.get(targetSum);
-        if (subsets == null) {
+    private Stream<List<V>> getNearestMatch(long targetSum, long itemTolerance) {
+        long maxSum = targetSum + itemTolerance * items.size();
+        sortItems(maxSum);
+        int expectedSize = items.size()*3;
+        ReachableSums reachableSums = solver.reachableSums(values, maxSum);
+        if (reachableSums != null) {
+            maxSum = reachableSums.highest(getMinSum(targetSum, itemTolerance), maxSum);
+            if (maxSum < 0) {
+                return Stream.empty();
+            }
+            expectedSize = reachableSums.count(maxSum);
+        }
+        buildSubsets(maxSum, expectedSize);
+        int slot = getNearestSlot(targetSum, itemTolerance, maxSum);
+        return slot < 0 ? Stream.empty() : getSubsets(slot);
+    }
+
+    /**
+     * Find the slot in {@link #sumTable} for the sum closest to {@code targetSum}.
+     * @param maxSum the largest sum to consider
+     * @return the slot or -1 if none of the sums are within tolerance of the target
+     */
+    private int getNearestSlot(long targetSum, long itemTolerance, long maxSum) {
+        int slot = targetSum <= maxSum ? sumTable.slot(targetSum) : -1;
+        if (slot < 0) {
             long minDiff = Long.MAX_VALUE;
-            for (Entry<Long, List<List<V>>> sumEntry : subsetSums.entrySet()) {
-                long diff = Math.abs(targetSum - sumEntry.getKey());
-                if (diff <= itemTolerance * sumEntry.getValue().size() && diff < minDiff) {
-                    subsets = sumEntry.getValue();
+            for (int i = 0; i < sumTable.size(); i++) {
+                long diff = Math.abs(targetSum - sumTable.sum(i));
+                if (sumTable.sum(i) <= maxSum && diff <= itemTolerance * subsetSums.size(i)
+                        && (diff < minDiff || diff == minDiff && sumTable.sum(i) < sumTable.sum(slot))) {
+                    slot = i;
                     minDiff = diff;
                 }
             }
         }
-        return subsets == null ? Collections.<List<V>>emptyList() : subsets;
+        return slot;
     }
 
     /**
-     * Populate {@link #subsetSums} with subsets having a sum &lt;= {@code maxSum}.
+     * Rebuild the subsets for a slot in {@link #sumTable} as they are consumed.
      */
-    private void buildSubsets(long maxSum) {
-        List<V> sortedItems = items.stream().filter(notZero).filter(lessThanOrEqual(adapter, maxSum))
-                .sorted(Ordering.<Long>natural().onResultOf(adapter::apply))
-                .collect(Collectors.toList());
-        Multimap<Long, List<V>> sums = ArrayListMultimap.create(items.size()*3, maxResults <= 0 ? EXPECTED_RESULTS : maxResults);
-        for (V item : sortedItems) {
-            long longItem = adapter.apply(item);
-            subsetSums.entrySet().stream().filter(lessThanOrEqual(Entry::getKey, maxSum - longItem)).forEach(sumEntry -> {
-                long subsetSum = longItem + sumEntry.getKey();
-                int count = count(subsetSum);
-                for (List<V> subSubset : applyLimit(sumEntry.getValue(), count + sums.get(subsetSum).size())) {
-                    List<V> subset = new ArrayList<>(subSubset.size() + 1);
-                    subset.addAll(subSubset);
-                    subset.add(item);
-                    sums.put(subsetSum, subset);
+    private Stream<List<V>> getSubsets(int slot) {
+        Iterator<List<V>> iterator = new AbstractIterator<List<V>>() {
+            private int link = subsetSums.first(slot);
+
+            protected List<V> computeNext() {
+                if (link < 0) {
+                    return endOfData();
+                }
+                int[] indexes = subsetSums.indexes(link);
+                List<V> subset = new ArrayList<>(indexes.length);
+                for (int index : indexes) {
+                    subset.add(sortedItems.get(index));
                 }
-            });
-            getSubsets(longItem).add(Collections.singletonList(item));
-            appendSubsets(sums);
-            sums.clear();
+                link = subsetSums.next(link);
+                return subset;
+            }
+        };
+        return StreamSupport.stream(Spliterators.spliterator(iterator, subsetSums.size(slot), Spliterator.ORDERED | Spliterator.NONNULL), false);
+    }
+
+    /**
+     * Get the smallest sum that could be selected by {@link #getNearestMatch(long, long)}.  The tolerance is scaled by
+     * the number of subsets for the sum, which is at most {@code maxResults} plus the number of single item subsets.
+     */
+    private long getMinSum(long targetSum, long itemTolerance) {
+        if (itemTolerance <= 0) {
+            return targetSum;
         }
+        long maxSubsets = maxResults <= 0 ? Long.MAX_VALUE : maxResults + values.length;
+        return targetSum / maxSubsets < itemTolerance ? 1L : targetSum - itemTolerance * maxSubsets;
     }
 
-    private <T> Predicate<T> lessThanOrEqual(Function<T, Long> function, long max) {
-        return v -> function.apply(v) <= max;
+    /**
+     * Populate {@link #sortedItems} and {@link #values} with the non-zero items having a value &lt;= {@code maxSum}.
+     */
+    private void sortItems(long maxSum) {
+        long start = stats == null ? 0L : stats.startPhase();
+        long[] keys = new long[itemValues.length];
+        int[] indexes = new int[itemValues.length];
+        int count = 0;
+        for (int i = 0; i < itemValues.length; i++) {
+            if (itemValues[i] != 0L && itemValues[i] <= maxSum) {
+                keys[count] = itemValues[i];
+                indexes[count++] = i;
+            }
+        }
+        values = Arrays.copyOf(keys, count);
+        indexes = Arrays.copyOf(indexes, count);
+        PrimitiveSort.sort(values, indexes);
+        sortedItems = new ArrayList<>(count);
+        for (int index : indexes) {
+            sortedItems.add(items.get(index));
+        }
+        if (stats != null) {
+            stats.endPhase(SearchStats.Phase.SORT, start);
+        }
     }
 
     /**
-     * Get an item from {@link #subsetSums}.  Adds an entry if none exists.
+     * Populate {@link #subsetSums} with subsets having a sum &lt;= {@code maxSum}.
+     * @param expectedSize the expected number of distinct sums
+     * @throws CancellationException if the calculation is cancelled
      */
-    private List<List<V>> getSubsets(long sum) {
-        List<List<V>> subsets = subsetSums.get(sum);
-        if (subsets == null) {
-            subsets = new ArrayList<>(maxResults <= 0 ? EXPECTED_RESULTS : maxResults);
-            subsetSums.put(sum, subsets);
+    private void buildSubsets(long maxSum, int expectedSize) {
+        long start = stats == null ? 0L : stats.startPhase();
+        long minSum = 0L;
+        for (long value : values) {
+            minSum += Math.min(value, 0L);
+        }
+        sumTable = solver.sumTable(minSum, maxSum, expectedSize);
+        subsetSums = solver.subsetLinks(expectedSize);
+        Pending pending = solver.pending();
+        for (int i = 0; i < values.length; i++) {
+            if (cancelled.getAsBoolean()) {
+                throw new CancellationException();
+            }
+            long longItem = values[i];
+            pending.clear();
+            for (int slot = 0, size = sumTable.size(); slot < size; slot++) {
+                if (sumTable.sum(slot) <= maxSum - longItem) {
+                    int target = sumTable.addSlot(sumTable.sum(slot) + longItem);
+                    int count = applyLimit(subsetSums.size(slot), subsetSums.size(target));
+                    if (count > 0) {
+                        pending.add(target, slot, count);
+                    }
+                }
+            }
+            subsetSums.add(sumTable.addSlot(longItem), i, -1);
+            if (solver.pool() != null && pending.links >= PARALLEL_LINKS) {
+                appendSubsetsInParallel(pending, i);
+            }
+            else {
+                for (int p = 0; p < pending.size; p++) {
+                    appendSubsets(pending.targets[p], pending.sources[p], pending.counts[p], i);
+                }
+            }
+        }
+        if (stats != null) {
+            stats.endPhase(SearchStats.Phase.BUILD, start);
+            int peakBucketSize = 0;
+            for (int slot = 0; slot < sumTable.size(); slot++) {
+                peakBucketSize = Math.max(peakBucketSize, subsetSums.size(slot));
+            }
+            stats.tableBuilt(sumTable.size(), peakBucketSize, subsetSums.linkCount());
         }
-        return subsets;
     }
 
     /**
-     * Add subsets to an entry in {@link #subsetSums}.
+     * Add the item at {@code index} to the first {@code count} subsets of the {@code source} slot and append them to
+     * the {@code target} slot.
      */
-    private void appendSubsets(Multimap<Long, List<V>> toAppend) {
-        for (Entry<Long, Collection<List<V>>> entry : toAppend.asMap().entrySet()) {
-            getSubsets(entry.getKey()).addAll(entry.getValue());
+    private void appendSubsets(int target, int source, int count, int index) {
+        for (int link = subsetSums.first(source); count-- > 0; link = subsetSums.next(link)) {
+            subsetSums.add(target, index, link);
         }
     }
 
     /**
-     * Get the number of subsets for the specified sum.
+     * Perform {@link #appendSubsets(int, int, int, int)} for all of the pending subsets using the solver's pool.  The
+     * links are reserved in the same order as the sequential calculation, so the result does not depend on the
+     * number of threads.  The tasks only read the links created before the current item and each task writes a
+     * separate range of new links.  The new links are then appended to their slots by the current thread.
      */
-    private int count(long sum) {
-        List<List<V>> list = subsetSums.get(sum);
-        return list == null ? 0 : list.size();
+    private void appendSubsetsInParallel(Pending pending, int index) {
+        int[] offsets = new int[pending.size + 1];
+        for (int p = 0; p < pending.size; p++) {
+            offsets[p + 1] = offsets[p] + pending.counts[p];
+        }
+        int first = subsetSums.reserve(offsets[pending.size]);
+        solver.pool().invoke(new AppendTask(pending, offsets, first, index, 0, pending.size));
+        for (int p = 0; p < pending.size; p++) {
+            subsetSums.append(pending.targets[p], first + offsets[p], pending.counts[p]);
+        }
     }
 
-    private List<List<V>> applyLimit(List<List<V>> list, int existing) {
-        return maxResults <= 0 ? list : list.subList(0, Math.min(list.size(), maxResults - existing));
+    /**
+     * Populate the reserved links for a range of the pending subsets, splitting the range until each task has at most
+     * {@link #PARALLEL_LINKS} links.
+     */
+    private class AppendTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        private final Pending pending;
+        private final int[] offsets;
+        private final int first;
+        private final int index;
+        private final int from;
+        private final int to;
+
+        public AppendTask(Pending pending, int[] offsets, int first, int index, int from, int to) {
+            this.pending = pending;
+            this.offsets = offsets;
+            this.first = first;
+            this.index = index;
+            this.from = from;
+            this.to = to;
+        }
+
+        protected void compute() {
+            if (to - from > 1 && offsets[to] - offsets[from] > PARALLEL_LINKS) {
+                int split = Arrays.binarySearch(offsets, from + 1, to, (offsets[from] + offsets[to]) >>> 1);
+                split = Math.min(Math.max(split < 0 ? -split - 1 : split, from + 1), to - 1);
+                invokeAll(new AppendTask(pending, offsets, first, index, from, split), new AppendTask(pending, offsets, first, index, split, to));
+            }
+            else {
+                for (int p = from; p < to; p++) {
+                    int newLink = first + offsets[p];
+                    int link = subsetSums.first(pending.sources[p]);
+                    for (int count = pending.counts[p]; count > 0; count--, newLink++) {
+                        subsetSums.set(newLink, index, link, count > 1 ? newLink + 1 : -1);
+                        if (count > 1) {
+                            link = subsetSums.next(link);
+                        }
+                    }
+                }
+            }
+        }
     }
 
     /**
-     * Converts {@link BigDecimal} to fixed-point long value.
+     * @return the number of source subsets to extend for a sum that already has {@code existing} subsets.
      */
-    private static class BigDecimalToLong implements Function<BigDecimal, Long> {
-        private final int scale;
+    private int applyLimit(int available, int existing) {
+        return maxResults <= 0 ? available : Math.min(available, maxResults - existing);
+    }
 
-        public BigDecimalToLong(int scale) {
-            this.scale = scale;
+    /**
+     * New subsets for the current item: target slot, source slot and number of source subsets to extend.
+     */
+    static class Pending {
+        private int[] targets = new int[EXPECTED_RESULTS];
+        private int[] sources = new int[EXPECTED_RESULTS];
+        private int[] counts = new int[EXPECTED_RESULTS];
+        private int size;
+        /** the total of {@link #counts} */
+        private long links;
+
+        public void clear() {
+            size = 0;
+            links = 0L;
         }
 
-        public Long apply(BigDecimal input) {
-            return input.scaleByPowerOfTen(scale).longValueExact();
+        public void add(int target, int source, int count) {
+            if (size == targets.length) {
+                targets = Arrays.copyOf(targets, size * 2);
+                sources = Arrays.copyOf(sources, size * 2);
+                counts = Arrays.copyOf(counts, size * 2);
+            }
+            targets[size] = target;
+            sources[size] = source;
+            counts[size++] = count;
+            links += count;
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,157 @@
+package io.github.jonestimd.subset;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.CacheStats;
+import com.google.common.cache.LoadingCache;
+
+/**
+ * A bounded cache of {@link SubsetSum} results, for applications that repeat the same searches.  The key of a search
+ * is the sorted values of the items, the target sum, the tolerance and {@code maxResults}, so the order of the items
+ * and the item objects do not matter.  The cache keeps the positions of the items in the sorted values for each
+ * subset and maps them onto the items of each caller.  The least recently used results are evicted when the cache
+ * reaches its maximum size.
+ *
+ * <p>The items of each subset are returned in ascending order of value.  Items having the same value are
+ * interchangeable, so a subset may contain different items with the same value than a search by
+ * {@link SubsetSum#subsets(Collection, long, long, int, Function)}.
+ *
+ * <p>Instances of this class are thread safe.
+ */
+public class SubsetSumCache {
+    private final LoadingCache<Key, int[][]> cache;
+
+    /**
+     * @param maximumSize the maximum number of searches to cache
+     */
+    public SubsetSumCache(long maximumSize) {
+        this.cache = CacheBuilder.newBuilder().maximumSize(maximumSize).recordStats().build(new CacheLoader<Key, int[][]>() {
+            public int[][] load(Key key) {
+                return key.findSubsets();
+            }
+        });
+    }
+
+    /**
+     * For a collection, find the subsets having the specified sum.
+     * @param items the collection to search
+     * @param sum the target sum for the subsets
+     * @param itemTolerance precision of the items in the collection
+     * @param maxResults the maximum number of subsets to return (negative for no limit)
+     * @param adapter a function to extract the value to sum from the collection items
+     * @return the matching subsets
+     * @see SubsetSum#subsets(Collection, long, long, int, Function)
+     */
+    public <T> List<List<T>> subsets(Collection<T> items, long sum, long itemTolerance, int maxResults, Function<? super T, Long> adapter) {
+        return subsets(ItemValues.of(items, adapter), sum, itemTolerance, maxResults);
+    }
+
+    /**
+     * For a collection, find the subsets having the specified sum.
+     * @param sum the target sum for the subsets
+     * @param itemTolerance precision of the items in the collection
+     * @param items the collection to search
+     * @param adapter a function to extract the value to sum from the collection items
+     * @param maxResults the maximum number of subsets to return (negative for no limit)
+     * @return the matching subsets
+     * @see SubsetSum#subsets(BigDecimal, BigDecimal, Collection, Function, int)
+     */
+    public <T> List<List<T>> subsets(BigDecimal sum, BigDecimal itemTolerance, Collection<T> items, Function<? super T, BigDecimal> adapter, int maxResults) {
+        ItemValues<T> itemValues = ItemValues.scaled(items, adapter, sum, itemTolerance);
+        return subsets(itemValues, itemValues.scale(sum), itemValues.scale(itemTolerance), maxResults);
+    }
+
+    private <T> List<List<T>> subsets(ItemValues<T> itemValues, long sum, long itemTolerance, int maxResults) {
+        long[] values = itemValues.getValues().clone();
+        int[] indexes = IntStream.range(0, values.length).toArray();
+        PrimitiveSort.sort(values, indexes);
+        int[][] positions = cache.getUnchecked(new Key(values, sum, itemTolerance, maxResults));
+        List<T> items = itemValues.getItems();
+        List<List<T>> subsets = new ArrayList<>(positions.length);
+        for (int[] subset : positions) {
+            List<T> result = new ArrayList<>(subset.length);
+            for (int position : subset) {
+                result.add(items.get(indexes[position]));
+            }
+            subsets.add(result);
+        }
+        return subsets;
+    }
+
+    /**
+     * @return the hit and miss counts of the cache
+     */
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    /**
+     * @return the number of cached searches
+     */
+    public long size() {
+        return cache.size();
+    }
+
+    /**
+     * Remove all of the cached searches.
+     */
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    /**
+     * The parameters of a search.  The values are stored instead of a hash of the values, so that different
+     * collections can not share the same results.
+     */
+    private static class Key {
+        /** the sorted values of the items */
+        private final long[] values;
+        private final long sum;
+        private final long itemTolerance;
+        private final int maxResults;
+        private final int hashCode;
+
+        private Key(long[] values, long sum, long itemTolerance, int maxResults) {
+            this.values = values;
+            this.sum = sum;
+            this.itemTolerance = itemTolerance;
+            this.maxResults = maxResults;
+            this.hashCode = ((Arrays.hashCode(values) * 31 + Long.hashCode(sum)) * 31 + Long.hashCode(itemTolerance)) * 31 + maxResults;
+        }
+
+        /**
+         * @return the subsets as positions in {@link #values}
+         */
+        private int[][] findSubsets() {
+            List<Integer> positions = new ArrayList<>(values.length);
+            for (int i = 0; i < values.length; i++) {
+                positions.add(i);
+            }
+            List<List<Integer>> subsets = new SubsetSumSolver().solve(positions, sum, itemTolerance, maxResults, position -> values[position]);
+            return subsets.stream().map(subset -> subset.stream().mapToInt(Integer::intValue).toArray()).toArray(int[][]::new);
+        }
+
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (obj == null || getClass() != obj.getClass()) {
+                return false;
+            }
+            Key that = (Key) obj;
+            return sum == that.sum && itemTolerance == that.itemTolerance && maxResults == that.maxResults && Arrays.equals(values, that.values);
+        }
+
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+}
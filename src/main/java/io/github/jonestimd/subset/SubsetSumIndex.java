@@ -0,0 +1,197 @@
+package io.github.jonestimd.subset;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * An index of the subset sums of a changing collection of positive values.  For each sum up to {@code maxSum}, the
+ * index keeps the number of subsets having that sum (modulo a large prime).  Adding an item updates the counts in
+ * time proportional to {@code maxSum} and, because the counts are exact, removing an item reverses the update in the
+ * same time.  So a query never needs to recalculate the subset sums of the whole collection.
+ *
+ * <p>Zero values do not change the sums and are ignored.  A count can be a multiple of the prime even though the sum
+ * is reachable, but the probability of that is about {@code 2^-61} per sum.
+ *
+ * <p><strong>Note:</strong> This class is not thread safe.
+ * @param <T> the collection item type
+ */
+public class SubsetSumIndex<T> {
+    /** the largest {@code maxSum} supported (the counts use 32MB) */
+    public static final long MAX_SUM = 1L << 22;
+    /** the Mersenne prime {@code 2^61 - 1} */
+    private static final long MODULUS = (1L << 61) - 1;
+
+    private final Function<? super T, Long> adapter;
+    private final int maxSum;
+    /** the number of subsets having each sum, modulo {@link #MODULUS} */
+    private final long[] counts;
+    private final List<T> items = new ArrayList<>();
+    private long[] values = new long[8];
+
+    /**
+     * @param adapter a function to extract the value to sum from the collection items
+     * @param maxSum the largest sum to track
+     * @throws IllegalArgumentException if {@code maxSum} is negative or greater than {@value #MAX_SUM}
+     */
+    public SubsetSumIndex(Function<? super T, Long> adapter, long maxSum) {
+        if (maxSum < 0 || maxSum > MAX_SUM) {
+            throw new IllegalArgumentException("unsupported maxSum: " + maxSum);
+        }
+        this.adapter = adapter;
+        this.maxSum = (int) maxSum;
+        this.counts = new long[this.maxSum + 1];
+    }
+
+    /**
+     * @return the items in the index
+     */
+    public List<T> getItems() {
+        return new ArrayList<>(items);
+    }
+
+    /**
+     * Add an item to the index.
+     * @throws IllegalArgumentException if the value of the item is negative
+     */
+    public void add(T item) {
+        long value = adapter.apply(item);
+        if (value < 0) {
+            throw new IllegalArgumentException("negative value: " + value);
+        }
+        if (items.size() == values.length) {
+            values = Arrays.copyOf(values, values.length * 2);
+        }
+        values[items.size()] = value;
+        items.add(item);
+        addValue(counts, value, maxSum);
+    }
+
+    /**
+     * Remove an item from the index.
+     * @return false if the index did not contain the item
+     */
+    public boolean remove(T item) {
+        int index = items.indexOf(item);
+        if (index < 0) {
+            return false;
+        }
+        long value = values[index];
+        items.remove(index);
+        System.arraycopy(values, index + 1, values, index, items.size() - index);
+        removeValue(counts, value, maxSum);
+        return true;
+    }
+
+    /**
+     * @return true if a non-empty subset of the items has the sum {@code sum}
+     */
+    public boolean contains(long sum) {
+        return sum > 0 && sum <= maxSum && counts[(int) sum] != 0;
+    }
+
+    /**
+     * Find the subset sum closest to {@code target}.  If 2 sums are equally close, then the smaller sum is returned.
+     * @param target the target sum
+     * @param tolerance the maximum difference between the target and the subset sum
+     * @return the closest sum or -1 if there is no subset sum within {@code tolerance} of {@code target}
+     */
+    public long nearest(long target, long tolerance) {
+        tolerance = Math.abs(tolerance);
+        // only the sums in [1, maxSum] are scanned, in order of their distance from the target
+        if (target <= 1L) {
+            for (long sum = 1L; sum <= maxSum && sum - tolerance <= target; sum++) {
+                if (contains(sum)) {
+                    return sum;
+                }
+            }
+        }
+        else if (target >= maxSum) {
+            for (long sum = maxSum; sum >= 1L && target - sum <= tolerance; sum--) {
+                if (contains(sum)) {
+                    return sum;
+                }
+            }
+        }
+        else {
+            long maxDiff = Math.min(tolerance, Math.max(target - 1L, maxSum - target));
+            for (long diff = 0; diff <= maxDiff; diff++) {
+                if (contains(target - diff)) {
+                    return target - diff;
+                }
+                if (contains(target + diff)) {
+                    return target + diff;
+                }
+            }
+        }
+        return -1L;
+    }
+
+    /**
+     * Find a subset of the items having the sum closest to {@code target}.  The subset is built by removing the items
+     * from a copy of the counts, so it takes time proportional to the number of items times the subset sum.
+     * @param target the target sum
+     * @param tolerance the maximum difference between the target and the subset sum
+     * @return the subset or {@code null} if there is no subset sum within {@code tolerance} of {@code target}
+     */
+    public List<T> query(long target, long tolerance) {
+        long sum = nearest(target, tolerance);
+        if (sum < 0) {
+            return null;
+        }
+        int remaining = (int) sum;
+        long[] without = Arrays.copyOf(counts, remaining + 1);
+        List<T> subset = new ArrayList<>();
+        for (int i = items.size() - 1; i >= 0 && remaining > 0; i--) {
+            long value = values[i];
+            if (value > 0 && value <= remaining) {
+                removeValue(without, value, remaining);
+                // the subsets containing item i with sum = remaining are the subsets without it with sum = remaining - value
+                if (value == remaining || without[remaining - (int) value] != 0) {
+                    subset.add(items.get(i));
+                    remaining -= value;
+                }
+            }
+        }
+        Collections.reverse(subset);
+        return subset;
+    }
+
+    /**
+     * Update the counts for adding a value to the collection.
+     */
+    private static void addValue(long[] counts, long value, int maxSum) {
+        if (value > 0 && value <= maxSum) {
+            int offset = (int) value;
+            for (int sum = maxSum; sum > offset; sum--) {
+                counts[sum] = add(counts[sum], counts[sum - offset]);
+            }
+            counts[offset] = add(counts[offset], 1L);
+        }
+    }
+
+    /**
+     * Reverse the update of {@link #addValue(long[], long, int)}.
+     */
+    private static void removeValue(long[] counts, long value, int maxSum) {
+        if (value > 0 && value <= maxSum) {
+            int offset = (int) value;
+            counts[offset] = subtract(counts[offset], 1L);
+            for (int sum = offset + 1; sum <= maxSum; sum++) {
+                counts[sum] = subtract(counts[sum], counts[sum - offset]);
+            }
+        }
+    }
+
+    private static long add(long a, long b) {
+        long sum = a + b;
+        return sum >= MODULUS ? sum - MODULUS : sum;
+    }
+
+    private static long subtract(long a, long b) {
+        long difference = a - b;
+        return difference < 0 ? difference + MODULUS : difference;
+    }
+}
@@ -0,0 +1,234 @@
+package io.github.jonestimd.subset;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.BooleanSupplier;
+import java.util.function.Function;
+
+/**
+ * A reusable {@link SubsetSum} calculation.  The work buffers (the sum table, the subset links and the reachable sums
+ * bitset) are kept between calls to {@code solve()} and are only reallocated when a larger calculation needs more
+ * capacity, which avoids most of the allocation of the {@code static} methods of {@link SubsetSum}.  The buffers
+ * retain the capacity of the largest calculation, so long lived solvers should only be used for similar sized
+ * collections.
+ *
+ * <p>A solver can be created with a memory budget for the subset links, which are the largest part of the work
+ * buffers when {@code maxResults} is large or unlimited.  Links beyond the budget are stored in a memory mapped file
+ * in the spill directory, so a large search runs slower instead of running out of memory.  The file is reused by
+ * later calls and is deleted by {@link #close()}.
+ *
+ * <p>A solver can also be created with a {@link ForkJoinPool}.  When an item extends many subsets, the new subsets
+ * are created by multiple tasks.  The subsets are assigned to the sums in the same order as the sequential
+ * calculation, so the results do not depend on the number of threads.  A solver is still used by one thread at a
+ * time.
+ *
+ * <p><strong>Note:</strong> This class is not thread safe.  Use {@link #forCurrentThread()} to get a solver for
+ * the current thread.
+ */
+public class SubsetSumSolver implements Closeable {
+    private static final ThreadLocal<SubsetSumSolver> THREAD_SOLVERS = ThreadLocal.withInitial(SubsetSumSolver::new);
+
+    /**
+     * @return the solver for the current thread
+     */
+    public static SubsetSumSolver forCurrentThread() {
+        return THREAD_SOLVERS.get();
+    }
+
+    private SumTable sumTable;
+    private SubsetLinks subsetLinks;
+    private ReachableSums reachableSums;
+    private final SubsetSum.Pending pending = new SubsetSum.Pending();
+    private final long maxLinkBytes;
+    private final Path spillDirectory;
+    private final ForkJoinPool pool;
+
+    /**
+     * Create a solver without a memory budget.
+     */
+    public SubsetSumSolver() {
+        this(Long.MAX_VALUE, null, null);
+    }
+
+    /**
+     * Create a solver without a memory budget that uses a pool to build the subsets.
+     * @param pool the pool for creating the subsets of each item in parallel (e.g. {@link ForkJoinPool#commonPool()})
+     */
+    public SubsetSumSolver(ForkJoinPool pool) {
+        this(Long.MAX_VALUE, null, pool);
+    }
+
+    /**
+     * Create a solver with a memory budget for the subset links.
+     * @param maxLinkBytes the heap memory to use for subset links before spilling to a file
+     * @param spillDirectory the directory for the spill file or {@code null} for no memory budget
+     */
+    public SubsetSumSolver(long maxLinkBytes, Path spillDirectory) {
+        this(maxLinkBytes, spillDirectory, null);
+    }
+
+    /**
+     * Create a solver with a memory budget for the subset links that uses a pool to build the subsets.
+     * @param maxLinkBytes the heap memory to use for subset links before spilling to a file
+     * @param spillDirectory the directory for the spill file or {@code null} for no memory budget
+     * @param pool the pool for creating the subsets of each item in parallel or {@code null} to use the current thread
+     */
+    public SubsetSumSolver(long maxLinkBytes, Path spillDirectory, ForkJoinPool pool) {
+        this.maxLinkBytes = maxLinkBytes;
+        this.spillDirectory = spillDirectory;
+        this.pool = pool;
+    }
+
+    /**
+     * For a collection, find the subsets having the specified sum.
+     * @param items the collection to search
+     * @param sum the target sum for the subsets
+     * @param itemTolerance precision of the items in the collection
+     * @param maxResults the maximum number of subsets to return (negative for no limit)
+     * @param adapter a function to extract the value to sum from the collection items
+     * @return the matching subsets
+     * @see SubsetSum#subsets(Collection, long, long, int, Function)
+     */
+    public <T> List<List<T>> solve(Collection<T> items, long sum, long itemTolerance, int maxResults, Function<? super T, Long> adapter) {
+        return sum == 0 ? Collections.<List<T>>emptyList() : new SubsetSum<>(maxResults, items, adapter, this).findSubsets(sum, itemTolerance);
+    }
+
+    /**
+     * For a collection of whole numbers, find the subsets having the specified sum (uses Number.longValue()).
+     * @param items the collection to search
+     * @param sum the target sum for the subsets
+     * @param itemTolerance precision of the items in the collection
+     * @param maxResults the maximum number of subsets to return (negative for no limit)
+     * @return the matching subsets
+     */
+    public <T extends Number> List<List<T>> solve(Collection<T> items, long sum, long itemTolerance, int maxResults) {
+        return solve(items, sum, itemTolerance, maxResults, Number::longValue);
+    }
+
+    /**
+     * For a collection, find the subsets having the specified sum.
+     * @param items the collection to search
+     * @param sum the target sum for the subsets
+     * @param itemTolerance precision of the items in the collection
+     * @param maxResults the maximum number of subsets to return (negative for no limit)
+     * @param adapter a function to extract the value to sum from the collection items
+     * @return the matching subsets
+     * @see SubsetSum#subsets(BigDecimal, BigDecimal, Collection, Function, int)
+     */
+    public <T> List<List<T>> solve(Collection<T> items, BigDecimal sum, BigDecimal itemTolerance, int maxResults, Function<? super T, BigDecimal> adapter) {
+        ItemValues<T> itemValues = ItemValues.scaled(items, adapter, sum, itemTolerance);
+        long longSum = itemValues.scale(sum);
+        return longSum == 0 ? Collections.<List<T>>emptyList()
+                : new SubsetSum<>(maxResults, itemValues, this, null).findSubsets(longSum, itemValues.scale(itemTolerance));
+    }
+
+    /**
+     * For a collection, find the subsets having the specified sum and collect the statistics of the search.
+     * @param items the collection to search
+     * @param sum the target sum for the subsets
+     * @param itemTolerance precision of the items in the collection
+     * @param maxResults the maximum number of subsets to return (negative for no limit)
+     * @param adapter a function to extract the value to sum from the collection items
+     * @param listener the listener to notify of the statistics or {@code null}
+     * @return the matching subsets and the statistics of the search
+     */
+    public <T> SearchResult<T> solve(Collection<T> items, long sum, long itemTolerance, int maxResults, Function<? super T, Long> adapter,
+            SearchListener listener) {
+        return solveWithStats(ItemValues.of(items, adapter), sum, itemTolerance, maxResults, new SearchStats(listener));
+    }
+
+    /**
+     * For a collection, find the subsets having the specified sum and collect the statistics of the search.
+     * @param items the collection to search
+     * @param sum the target sum for the subsets
+     * @param itemTolerance precision of the items in the collection
+     * @param maxResults the maximum number of subsets to return (negative for no limit)
+     * @param adapter a function to extract the value to sum from the collection items
+     * @param listener the listener to notify of the statistics or {@code null}
+     * @return the matching subsets and the statistics of the search
+     */
+    public <T> SearchResult<T> solve(Collection<T> items, BigDecimal sum, BigDecimal itemTolerance, int maxResults, Function<? super T, BigDecimal> adapter,
+            SearchListener listener) {
+        SearchStats stats = new SearchStats(listener);
+        long start = stats.startPhase();
+        ItemValues<T> itemValues = ItemValues.scaled(items, adapter, sum, itemTolerance);
+        stats.endPhase(SearchStats.Phase.SCALE, start);
+        return solveWithStats(itemValues, itemValues.scale(sum), itemValues.scale(itemTolerance), maxResults, stats);
+    }
+
+    /**
+     * For a collection, find the subsets having the specified sum, checking {@code cancelled} while the subsets are
+     * calculated.
+     * @throws java.util.concurrent.CancellationException if {@code cancelled} returns true before the calculation is
+     * complete
+     */
+    <T> List<List<T>> solve(ItemValues<T> itemValues, long sum, long itemTolerance, int maxResults, BooleanSupplier cancelled) {
+        return sum == 0 ? Collections.<List<T>>emptyList()
+                : new SubsetSum<>(maxResults, itemValues, this, null, cancelled).findSubsets(sum, itemTolerance);
+    }
+
+    private <T> SearchResult<T> solveWithStats(ItemValues<T> itemValues, long sum, long itemTolerance, int maxResults, SearchStats stats) {
+        if (sum == 0) {
+            stats.completed(0);
+            return new SearchResult<>(Collections.emptyList(), false, stats);
+        }
+        return new SearchResult<>(new SubsetSum<>(maxResults, itemValues, this, stats).findSubsets(sum, itemTolerance), false, stats);
+    }
+
+    SumTable sumTable(long minSum, long maxSum, int expectedSize) {
+        sumTable = SumTable.reuse(sumTable, minSum, maxSum, expectedSize);
+        return sumTable;
+    }
+
+    SubsetLinks subsetLinks(int expectedSize) {
+        if (subsetLinks == null) {
+            subsetLinks = new SubsetLinks(expectedSize, expectedSize, maxLinkBytes, spillDirectory);
+        }
+        else {
+            subsetLinks.clear();
+        }
+        return subsetLinks;
+    }
+
+    ReachableSums reachableSums(long[] values, long maxSum) {
+        ReachableSums sums = ReachableSums.of(values, maxSum, reachableSums);
+        if (sums != null) {
+            reachableSums = sums;
+        }
+        return sums;
+    }
+
+    SubsetSum.Pending pending() {
+        return pending;
+    }
+
+    /**
+     * @return the pool for building the subsets or {@code null} to use the current thread
+     */
+    ForkJoinPool pool() {
+        return pool;
+    }
+
+    /**
+     * @return true if the subset links of the last calculation exceeded the memory budget (a search that is answered
+     * without building the subsets, e.g. a sum of 0, does not change the result)
+     */
+    public boolean isSpilled() {
+        return subsetLinks != null && subsetLinks.isSpilled();
+    }
+
+    /**
+     * Delete the spill file.  The solver can still be used after it is closed.
+     */
+    public void close() throws IOException {
+        if (subsetLinks != null) {
+            subsetLinks.close();
+        }
+    }
+}
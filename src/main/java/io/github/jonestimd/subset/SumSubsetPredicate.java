@@ -0,0 +1,99 @@
+package io.github.jonestimd.subset;
+
+import java.util.List;
+
+/**
+ * Base class for {@link SubsetPredicate}s that compare the sum of primitive values to a goal.  The values of the items
+ * are calculated once at the start of each search by the subclass, along with the sums of the remaining positive and
+ * negative values used to bound the search.  The sums and the bounds of the goal are {@code long}, so the sums of
+ * {@code int} values can not overflow.
+ * @param <T> the type of the collection items
+ */
+abstract class SumSubsetPredicate<T> implements BoundedSubsetPredicate<T> {
+    private final long goalMinusError;
+    private final long goalPlusError;
+    private final SubsetPredicateResult lowResult;
+    private final SubsetPredicateResult highResult;
+    /** the sum of the positive values at or after each index */
+    private long[] remainingPositive = new long[1];
+    /** the sum of the negative values at or after each index */
+    private long[] remainingNegative = new long[1];
+    private long total;
+
+    /**
+     * @param goal the target sum for the subsets
+     * @param error margin of error for matching the target subset sum
+     */
+    protected SumSubsetPredicate(long goal, long error) {
+        long margin = error == Long.MIN_VALUE ? Long.MAX_VALUE : Math.abs(error);
+        this.goalMinusError = goal < Long.MIN_VALUE + margin ? Long.MIN_VALUE : goal - margin;
+        this.goalPlusError = goal > Long.MAX_VALUE - margin ? Long.MAX_VALUE : goal + margin;
+        this.lowResult = goal >= 0 ? SubsetPredicateResult.TOO_FEW : SubsetPredicateResult.TOO_MANY;
+        this.highResult = goal >= 0 ? SubsetPredicateResult.TOO_MANY : SubsetPredicateResult.TOO_FEW;
+    }
+
+    /**
+     * Calculate the values of {@code items} for {@link #value(int)}.
+     */
+    protected abstract void setValues(List<T> items);
+
+    /**
+     * @return the value of the item at {@code index} in the list passed to {@link #setValues(List)}
+     */
+    protected abstract long value(int index);
+
+    /**
+     * @return the value of {@code item}
+     */
+    protected abstract long value(T item);
+
+    public void reset(List<T> items) {
+        setValues(items);
+        remainingPositive = new long[items.size() + 1];
+        remainingNegative = new long[items.size() + 1];
+        for (int i = items.size() - 1; i >= 0; i--) {
+            long value = value(i);
+            remainingPositive[i] = remainingPositive[i + 1] + Math.max(value, 0L);
+            remainingNegative[i] = remainingNegative[i + 1] + Math.min(value, 0L);
+        }
+        total = 0L;
+    }
+
+    public boolean canReach(int fromIndex) {
+        return total + remainingPositive[fromIndex] >= goalMinusError && total + remainingNegative[fromIndex] <= goalPlusError;
+    }
+
+    public SubsetPredicateResult applyIndex(int index) {
+        total += value(index);
+        return getResult();
+    }
+
+    public SubsetPredicateResult removeIndex(int index) {
+        total -= value(index);
+        return getResult();
+    }
+
+    public SubsetPredicateResult apply(T item) {
+        total += value(item);
+        return getResult();
+    }
+
+    public void remove(T item) {
+        total -= value(item);
+    }
+
+    public void reset() {
+        total = 0L;
+    }
+
+    private SubsetPredicateResult getResult() {
+        if (total < goalMinusError) {
+            return lowResult;
+        }
+        return total > goalPlusError ? highResult : SubsetPredicateResult.MATCH;
+    }
+
+    public String toString() {
+        return "Total: " + total + " Goal: " + goalMinusError + " - " + goalPlusError;
+    }
+}
@@ -0,0 +1,201 @@
+package io.github.jonestimd.subset;
+
+import java.util.Arrays;
+
+/**
+ * Maps subset sums to consecutive slot numbers without boxing.  Slots are numbered in the order that the sums are
+ * added, so callers can keep their per-sum state in arrays indexed by slot.  Use {@link #create(long, long, int)} to
+ * get a dense table (direct indexing over a small range of sums) or a sparse table (open addressing) depending on
+ * the range of the sums.
+ */
+abstract class SumTable {
+    /** the largest range of sums that will be indexed directly */
+    static final long DENSE_RANGE_LIMIT = 1 << 20;
+
+    protected long[] sums;
+    protected int size;
+
+    protected SumTable(int capacity) {
+        this.sums = new long[Math.max(capacity, 4)];
+    }
+
+    /**
+     * Create a table for sums in the range {@code [minSum, maxSum]}.
+     * @param expectedSize initial capacity for the number of distinct sums
+     */
+    static SumTable create(long minSum, long maxSum, int expectedSize) {
+        if (isDense(minSum, maxSum)) {
+            return new Dense(minSum, (int) (maxSum - minSum) + 1, expectedSize);
+        }
+        return new Sparse(expectedSize);
+    }
+
+    /**
+     * Get a table for sums in the range {@code [minSum, maxSum]}, reusing {@code table} if it is suitable.
+     * @param table the table from a previous calculation or {@code null}
+     * @param expectedSize initial capacity for the number of distinct sums
+     */
+    static SumTable reuse(SumTable table, long minSum, long maxSum, int expectedSize) {
+        return table != null && table.reset(minSum, maxSum) ? table : create(minSum, maxSum, expectedSize);
+    }
+
+    private static boolean isDense(long minSum, long maxSum) {
+        long range = maxSum - minSum;
+        return range >= 0 && range < DENSE_RANGE_LIMIT;
+    }
+
+    /**
+     * Remove all of the sums and prepare the table for sums in the range {@code [minSum, maxSum]}.
+     * @return false if this table can not be used for the range
+     */
+    protected abstract boolean reset(long minSum, long maxSum);
+
+    /**
+     * @return the number of sums in the table
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return the sum for a slot
+     */
+    public long sum(int slot) {
+        return sums[slot];
+    }
+
+    /**
+     * @return the slot for {@code sum} or -1 if the table does not contain {@code sum}
+     */
+    public abstract int slot(long sum);
+
+    /**
+     * Get the slot for a sum, adding the sum to the table if it does not exist.
+     */
+    public abstract int addSlot(long sum);
+
+    protected int newSlot(long sum) {
+        if (size == sums.length) {
+            sums = Arrays.copyOf(sums, size * 2);
+        }
+        sums[size] = sum;
+        return size++;
+    }
+
+    /**
+     * Direct lookup of slots for a small range of sums.
+     */
+    private static class Dense extends SumTable {
+        private long minSum;
+        private final int[] slots;
+
+        public Dense(long minSum, int range, int expectedSize) {
+            super(Math.min(range, expectedSize));
+            this.minSum = minSum;
+            this.slots = new int[range];
+            Arrays.fill(slots, -1);
+        }
+
+        protected boolean reset(long minSum, long maxSum) {
+            if (! isDense(minSum, maxSum) || maxSum - minSum >= slots.length) {
+                return false;
+            }
+            for (int slot = 0; slot < size; slot++) {
+                slots[(int) (sums[slot] - this.minSum)] = -1;
+            }
+            this.minSum = minSum;
+            size = 0;
+            return true;
+        }
+
+        public int slot(long sum) {
+            long offset = sum - minSum;
+            return offset < 0 || offset >= slots.length ? -1 : slots[(int) offset];
+        }
+
+        public int addSlot(long sum) {
+            int offset = (int) (sum - minSum);
+            int slot = slots[offset];
+            if (slot < 0) {
+                slot = newSlot(sum);
+                slots[offset] = slot;
+            }
+            return slot;
+        }
+    }
+
+    /**
+     * Open addressing hash lookup of slots for a large range of sums.
+     */
+    private static class Sparse extends SumTable {
+        private static final long HASH_MULTIPLIER = 0x9E3779B97F4A7C15L;
+        private long[] keys;
+        private int[] slots;
+        private int shift;
+
+        public Sparse(int expectedSize) {
+            super(expectedSize);
+            allocate(Integer.highestOneBit(Math.max(expectedSize, 8) * 2 - 1) << 1);
+        }
+
+        private void allocate(int capacity) {
+            keys = new long[capacity];
+            slots = new int[capacity];
+            Arrays.fill(slots, -1);
+            shift = Long.numberOfLeadingZeros(capacity - 1);
+        }
+
+        protected boolean reset(long minSum, long maxSum) {
+            if (isDense(minSum, maxSum)) {
+                return false;
+            }
+            Arrays.fill(slots, -1);
+            size = 0;
+            return true;
+        }
+
+        private int hash(long sum) {
+            return (int) ((sum * HASH_MULTIPLIER) >>> shift);
+        }
+
+        public int slot(long sum) {
+            int mask = keys.length - 1;
+            for (int i = hash(sum); slots[i] >= 0; i = (i + 1) & mask) {
+                if (keys[i] == sum) {
+                    return slots[i];
+                }
+            }
+            return -1;
+        }
+
+        public int addSlot(long sum) {
+            int mask = keys.length - 1;
+            int i = hash(sum);
+            for (; slots[i] >= 0; i = (i + 1) & mask) {
+                if (keys[i] == sum) {
+                    return slots[i];
+                }
+            }
+            int slot = newSlot(sum);
+            keys[i] = sum;
+            slots[i] = slot;
+            if (size * 2 > keys.length) {
+                rehash();
+            }
+            return slot;
+        }
+
+        private void rehash() {
+            allocate(keys.length * 2);
+            int mask = keys.length - 1;
+            for (int slot = 0; slot < size; slot++) {
+                int i = hash(sums[slot]);
+                while (slots[i] >= 0) {
+                    i = (i + 1) & mask;
+                }
+                keys[i] = sums[slot];
+                slots[i] = slot;
+            }
+        }
+    }
+}
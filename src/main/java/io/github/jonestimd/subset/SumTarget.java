@@ -0,0 +1,49 @@
+package io.github.jonestimd.subset;
+
+import java.util.Objects;
+
+/**
+ * A target sum and tolerance for a batch of subset sum queries.
+ * @param <N> the type of the sum
+ * @see SubsetSum#batchSubsets(java.util.Collection, java.util.List, int, java.util.function.Function)
+ */
+public final class SumTarget<N> {
+    private final N sum;
+    private final N tolerance;
+
+    private SumTarget(N sum, N tolerance) {
+        this.sum = sum;
+        this.tolerance = tolerance;
+    }
+
+    public static <N> SumTarget<N> of(N sum, N tolerance) {
+        return new SumTarget<>(Objects.requireNonNull(sum), Objects.requireNonNull(tolerance));
+    }
+
+    public N getSum() {
+        return sum;
+    }
+
+    public N getTolerance() {
+        return tolerance;
+    }
+
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null || getClass() != obj.getClass()) {
+            return false;
+        }
+        SumTarget<?> that = (SumTarget<?>) obj;
+        return sum.equals(that.sum) && tolerance.equals(that.tolerance);
+    }
+
+    public int hashCode() {
+        return Objects.hash(sum, tolerance);
+    }
+
+    public String toString() {
+        return sum + " +/- " + tolerance;
+    }
+}
@@ -0,0 +1,65 @@
+package io.github.jonestimd.subset;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Keeps the {@code k} best of a sequence of values, using a priority queue with the worst value at the head.  Values
+ * that rank the same are kept in the order that they were added.
+ * @param <T> the type of the values
+ */
+class TopK<T> {
+    private final int k;
+    private final Comparator<Ranked<T>> ranking;
+    private final PriorityQueue<Ranked<T>> queue;
+    private long sequence;
+
+    /**
+     * @param k the number of values to keep (negative for no limit)
+     * @param ranking the order of the values (best first)
+     */
+    public TopK(int k, Comparator<? super T> ranking) {
+        this.k = k;
+        this.ranking = Comparator.<Ranked<T>, T>comparing(ranked -> ranked.value, ranking).thenComparingLong(ranked -> ranked.sequence);
+        this.queue = new PriorityQueue<>(k > 0 ? k : 11, this.ranking.reversed());
+    }
+
+    public void add(T value) {
+        Ranked<T> ranked = new Ranked<>(value, sequence++);
+        if (k < 0 || queue.size() < k) {
+            queue.add(ranked);
+        }
+        else if (k > 0 && ranking.compare(ranked, queue.peek()) < 0) {
+            queue.poll();
+            queue.add(ranked);
+        }
+    }
+
+    public TopK<T> addAll(TopK<T> other) {
+        other.toList().forEach(this::add);
+        return this;
+    }
+
+    /**
+     * @return the values in order, best first
+     */
+    public List<T> toList() {
+        List<Ranked<T>> ranked = new ArrayList<>(queue);
+        ranked.sort(ranking);
+        List<T> values = new ArrayList<>(ranked.size());
+        ranked.forEach(value -> values.add(value.value));
+        return values;
+    }
+
+    private static class Ranked<T> {
+        private final T value;
+        private final long sequence;
+
+        public Ranked(T value, long sequence) {
+            this.value = value;
+            this.sequence = sequence;
+        }
+    }
+}
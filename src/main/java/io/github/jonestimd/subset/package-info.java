@@ -2,8 +2,14 @@
  * Utility classes for finding subsets of a collection that meet some criteria.
  * <ul>
  *     <li>{@link io.github.jonestimd.subset.SubsetSum} - finds subsets having a specific sum</li>
+ *     <li>{@link io.github.jonestimd.subset.MeetInTheMiddle} - finds subsets having a specific sum in a small collection of
+ *     positive and negative numbers</li>
+ *     <li>{@link io.github.jonestimd.subset.SubsetSumIndex} - tracks the subset sums of a changing collection of positive
+ *     numbers</li>
  *     <li>{@link io.github.jonestimd.subset.SubsetSearch} - finds subsets meeting a criteria defined by an implementation of
  *     {@link io.github.jonestimd.subset.SubsetPredicate}</li>
+ *     <li>{@link io.github.jonestimd.subset.ParallelSubsetSearch} - splits a {@code SubsetSearch} into tasks for a
+ *     {@link java.util.concurrent.ForkJoinPool}</li>
  * </ul>
  */
 package io.github.jonestimd.subset;
\ No newline at end of file
@@ -0,0 +1,33 @@
+package io.github.jonestimd.subset;
+
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Implementation of {@link BitsetKernel} using the incubating Vector API.  Loaded by {@link BitsetKernel#get()} when
+ * the {@code jdk.incubator.vector} module is available.
+ */
+final class VectorBitsetKernel extends BitsetKernel {
+    private static final VectorSpecies<Long> SPECIES = LongVector.SPECIES_PREFERRED;
+
+    void shiftOr(long[] bits, int to, int words, int shift) {
+        int lanes = SPECIES.length();
+        int i = to;
+        // each block of words is loaded before it is stored, so the blocks can overlap their sources
+        for (int start = i - lanes + 1; start > words; i -= lanes, start -= lanes) {
+            LongVector shifted = LongVector.fromArray(SPECIES, bits, start - words).lanewise(VectorOperators.LSHL, shift);
+            if (shift != 0) {
+                shifted = shifted.or(LongVector.fromArray(SPECIES, bits, start - words - 1).lanewise(VectorOperators.LSHR, 64 - shift));
+            }
+            LongVector.fromArray(SPECIES, bits, start).or(shifted).intoArray(bits, start);
+        }
+        for (; i > words; i--) {
+            long shifted = bits[i - words] << shift;
+            if (shift != 0) {
+                shifted |= bits[i - words - 1] >>> (64 - shift);
+            }
+            bits[i] |= shifted;
+        }
+    }
+}
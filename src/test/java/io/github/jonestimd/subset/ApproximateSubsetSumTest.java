@@ -0,0 +1,118 @@
+package io.github.jonestimd.subset;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Function;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class ApproximateSubsetSumTest {
+    @Test
+    public void findsExactSubsetWithSmallEpsilon() throws Exception {
+        List<Long> items = Arrays.asList(104L, 102L, 201L, 101L);
+
+        ApproximateSubset<Long, Long> subset = ApproximateSubsetSum.subset(items, 308L, 0.001d, Long::valueOf);
+
+        assertEquals(Arrays.asList(104L, 102L, 101L), subset.getSubset());
+        assertEquals(307L, subset.getSum().longValue());
+        assertEquals(1L, subset.getMaxError().longValue());
+    }
+
+    @Test
+    public void sumIsWithinEpsilonOfBestSum() throws Exception {
+        // epsilon / 2n = 5%, so 307 is trimmed as a near duplicate of 302
+        List<Long> items = Arrays.asList(104L, 102L, 201L, 101L);
+
+        ApproximateSubset<Long, Long> subset = ApproximateSubsetSum.subset(items, 308L, 0.4d, Long::valueOf);
+
+        assertEquals(302L, subset.getSum().longValue());
+        assertEquals(sum(subset.getSubset()), subset.getSum().longValue());
+        assertEquals(6L, subset.getMaxError().longValue());
+    }
+
+    @Test
+    public void returnsNullWhenAllValuesExceedTarget() throws Exception {
+        assertNull(ApproximateSubsetSum.subset(Arrays.asList(5L, 7L), 4L, 0.1d, Long::valueOf));
+        assertNull(ApproximateSubsetSum.subset(Arrays.asList(5L, 7L), 0L, 0.1d, Long::valueOf));
+    }
+
+    @Test
+    public void ignoresZeroValues() throws Exception {
+        ApproximateSubset<Long, Long> subset = ApproximateSubsetSum.subset(Arrays.asList(0L, 3L, 0L, 4L), 7L, 0.1d, Long::valueOf);
+
+        assertEquals(Arrays.asList(3L, 4L), subset.getSubset());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsNegativeValues() throws Exception {
+        ApproximateSubsetSum.subset(Arrays.asList(3L, -1L), 2L, 0.1d, Long::valueOf);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsZeroEpsilon() throws Exception {
+        ApproximateSubsetSum.subset(Arrays.asList(3L, 1L), 2L, 0d, Long::valueOf);
+    }
+
+    @Test
+    public void bigDecimalSubset() throws Exception {
+        List<BigDecimal> items = Arrays.asList(new BigDecimal("1.25"), new BigDecimal("2.5"), new BigDecimal("4"));
+
+        ApproximateSubset<BigDecimal, BigDecimal> subset = ApproximateSubsetSum.subset(new BigDecimal("6.6"), 0.01d, items, Function.identity());
+
+        assertEquals(Arrays.asList(new BigDecimal("2.5"), new BigDecimal("4")), subset.getSubset());
+        assertEquals(new BigDecimal("6.50"), subset.getSum());
+        assertEquals(new BigDecimal("0.07"), subset.getMaxError());
+    }
+
+    @Test
+    public void randomSumsAreWithinErrorBound() throws Exception {
+        Random random = new Random(23L);
+        for (int trial = 0; trial < 200; trial++) {
+            List<Long> items = new ArrayList<>();
+            for (int i = random.nextInt(16); i >= 0; i--) {
+                items.add((long) random.nextInt(1000));
+            }
+            long target = random.nextInt(5000);
+            double epsilon = 0.01d + random.nextDouble() / 2;
+
+            ApproximateSubset<Long, Long> subset = ApproximateSubsetSum.subset(items, target, epsilon, Long::valueOf);
+
+            long best = bestSum(items, target);
+            if (best == 0L) {
+                assertNull(subset);
+            }
+            else {
+                long sum = subset.getSum();
+                assertEquals(sum(subset.getSubset()), sum);
+                assertTrue(sum <= target);
+                assertTrue(best <= sum * (1d + epsilon));
+                assertTrue(best - sum <= subset.getMaxError());
+            }
+        }
+    }
+
+    private static long bestSum(List<Long> items, long target) {
+        long best = 0L;
+        for (int mask = 0; mask < 1 << items.size(); mask++) {
+            long sum = 0L;
+            for (int i = 0; i < items.size(); i++) {
+                if ((mask & 1 << i) != 0) {
+                    sum += items.get(i);
+                }
+            }
+            if (sum <= target) {
+                best = Math.max(best, sum);
+            }
+        }
+        return best;
+    }
+
+    private static long sum(List<Long> items) {
+        return items.stream().mapToLong(Long::longValue).sum();
+    }
+}
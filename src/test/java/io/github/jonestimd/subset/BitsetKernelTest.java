@@ -0,0 +1,49 @@
+package io.github.jonestimd.subset;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+import static org.junit.Assume.*;
+
+public class BitsetKernelTest {
+    @Test
+    public void shiftOrAddsOffsetToEveryBit() throws Exception {
+        Random random = new Random();
+        for (BitsetKernel kernel : new BitsetKernel[] {BitsetKernel.get(), new BitsetKernel.Scalar()}) {
+            for (int i = 0; i < 500; i++) {
+                long[] bits = new long[random.nextInt(40) + 2];
+                for (int word = 0; word < bits.length; word++) {
+                    bits[word] = random.nextLong();
+                }
+                int words = random.nextInt(bits.length - 1);
+                int shift = random.nextInt(64);
+                int to = words + random.nextInt(bits.length - words);
+                long[] expected = bits.clone();
+                int offset = words * 64 + shift;
+                for (int bit = (to + 1) * 64 - 1; bit >= 64 * (words + 1); bit--) {
+                    if (isSet(bits, bit - offset)) {
+                        expected[bit >>> 6] |= 1L << bit;
+                    }
+                }
+
+                kernel.shiftOr(bits, to, words, shift);
+
+                assertArrayEquals(kernel.toString(), expected, bits);
+            }
+        }
+    }
+
+    @Test
+    public void vectorKernelIsLoadedWhenExpected() throws Exception {
+        // set by the vectorTest task, which runs on Java 16 or later with the jdk.incubator.vector module
+        assumeTrue(Boolean.getBoolean("io.github.jonestimd.subset.vector.expected"));
+
+        assertEquals("VectorBitsetKernel", BitsetKernel.get().toString());
+    }
+
+    private boolean isSet(long[] bits, int bit) {
+        return (bits[bit >>> 6] & 1L << bit) != 0L;
+    }
+}
@@ -10,6 +10,13 @@ import org.junit.Test;
 import static org.fest.assertions.Assertions.*;
 
 public class CombinationsTest {
+    /** the events for subsets of A, B, C and D when the subsets containing C are not extended */
+    private static final List<String> EXPECTED_EVENTS = Arrays.asList(
+            "+[A]", "+[A, B]", "+[A, B, C]", "-C", "+[A, B, D]", "-D", "-B", "+[A, C]", "-C", "+[A, D]", "-D", "-A",
+            "+[B]", "+[B, C]", "-C", "+[B, D]", "-D", "-B",
+            "+[C]", "-C",
+            "+[D]", "-D");
+
     private int removedCount = 0;
 
     @Test
@@ -77,4 +84,71 @@ public class CombinationsTest {
         assertThat(combinations).contains(Lists.newArrayList("C"));
         assertThat(combinations).contains(Lists.newArrayList("D"));
     }
+
+    @Test
+    public void visitIndexesSkipsSupersetsOfRejectedSubsets() throws Exception {
+        final List<String> events = new ArrayList<>();
+        final List<String> items = Arrays.asList("A", "B", "C", "D");
+
+        Combinations.visitCombinations(items.size(), new CombinationIndexVisitor() {
+            public boolean itemAdded(int[] subset, int size) {
+                List<String> current = new ArrayList<>();
+                for (int i = 0; i < size; i++) {
+                    current.add(items.get(subset[i]));
+                }
+                events.add("+" + current);
+                return ! current.contains("C");
+            }
+
+            public void itemRemoved(int index) {
+                events.add("-" + items.get(index));
+            }
+        });
+
+        assertThat(events).isEqualTo(EXPECTED_EVENTS);
+    }
+
+    @Test
+    public void visitItemsSkipsSupersetsOfRejectedSubsets() throws Exception {
+        final List<String> events = new ArrayList<>();
+
+        Combinations.visitCombinations(Arrays.asList("A", "B", "C", "D"), new CombinationVisitor<String>() {
+            public boolean itemAdded(List<String> subset, String item) {
+                events.add("+" + subset);
+                return ! subset.contains("C");
+            }
+
+            public void itemRemoved(String item) {
+                events.add("-" + item);
+            }
+        });
+
+        assertThat(events).isEqualTo(EXPECTED_EVENTS);
+    }
+
+    @Test
+    public void visitGrayCodeFlipsOneIndexPerSubset() throws Exception {
+        final List<String> events = new ArrayList<>();
+        final List<Long> subsets = new ArrayList<>();
+
+        Combinations.visitGrayCode(3, new CombinationFlipVisitor() {
+            public void itemAdded(int index, long subset) {
+                events.add("+" + index);
+                subsets.add(subset);
+            }
+
+            public void itemRemoved(int index, long subset) {
+                events.add("-" + index);
+                subsets.add(subset);
+            }
+        });
+
+        assertThat(events).isEqualTo(Arrays.asList("+0", "+1", "-0", "+2", "+0", "-1", "-0"));
+        assertThat(subsets).isEqualTo(Arrays.asList(1L, 3L, 2L, 6L, 7L, 5L, 4L));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void visitGrayCodeRejectsTooManyItems() throws Exception {
+        Combinations.visitGrayCode(Combinations.MAX_GRAY_CODE_ITEMS + 1, null);
+    }
 }
@@ -0,0 +1,84 @@
+package io.github.jonestimd.subset;
+
+import java.util.Arrays;
+
+import org.junit.Test;
+
+import static io.github.jonestimd.subset.SubsetPredicateResult.*;
+import static org.junit.Assert.*;
+
+public class IntSubsetPredicateTest {
+    @Test
+    public void positiveGoalZeroError() throws Exception {
+        IntSubsetPredicate<Integer> predicate = new IntSubsetPredicate<>(Integer::intValue, 10, 0);
+
+        assertSame(TOO_FEW, predicate.apply(9));
+        assertSame(MATCH, predicate.apply(1));
+        assertSame(TOO_MANY, predicate.apply(1));
+
+        predicate.remove(3);
+        assertSame(TOO_FEW, predicate.apply(1));
+        assertSame(MATCH, predicate.apply(1));
+
+        predicate.reset();
+        assertSame(TOO_FEW, predicate.apply(9));
+    }
+
+    @Test
+    public void negativeGoalWithError() throws Exception {
+        IntSubsetPredicate<Integer> predicate = new IntSubsetPredicate<>(Integer::intValue, -10, -1);
+
+        assertSame(TOO_FEW, predicate.apply(-8));
+        assertSame(MATCH, predicate.apply(-1));
+        assertSame(MATCH, predicate.apply(-1));
+        assertSame(MATCH, predicate.apply(-1));
+        assertSame(TOO_MANY, predicate.apply(-1));
+    }
+
+    @Test
+    public void applyByIndexUsesValuesFromReset() throws Exception {
+        IntSubsetPredicate<Integer> predicate = new IntSubsetPredicate<>(Integer::intValue, 10, 0);
+        predicate.apply(1);
+
+        predicate.reset(Arrays.asList(3, 7, 1));
+
+        assertSame(TOO_FEW, predicate.applyIndex(0));
+        assertSame(MATCH, predicate.applyIndex(1));
+        assertSame(TOO_MANY, predicate.applyIndex(2));
+        predicate.removeIndex(1);
+        assertSame(TOO_FEW, predicate.applyIndex(2));
+    }
+
+    @Test
+    public void goalWithErrorBeyondIntRange() throws Exception {
+        IntSubsetPredicate<Integer> predicate = new IntSubsetPredicate<>(Integer::intValue, Integer.MAX_VALUE, 1);
+
+        assertSame(TOO_FEW, predicate.apply(Integer.MAX_VALUE - 2));
+        assertSame(MATCH, predicate.apply(1));
+        assertSame(MATCH, predicate.apply(1));
+        assertSame(MATCH, predicate.apply(1));
+        assertSame(TOO_MANY, predicate.apply(1));
+    }
+
+    @Test
+    public void totalBeyondIntRange() throws Exception {
+        IntSubsetPredicate<Integer> predicate = new IntSubsetPredicate<>(Integer::intValue, Integer.MAX_VALUE, 0);
+        predicate.reset(Arrays.asList(Integer.MAX_VALUE, Integer.MAX_VALUE, 1));
+
+        assertTrue(predicate.canReach(0));
+        assertSame(MATCH, predicate.applyIndex(0));
+        assertSame(TOO_MANY, predicate.applyIndex(1));
+        assertFalse(predicate.canReach(2));
+        assertSame(MATCH, predicate.removeIndex(0));
+    }
+
+    @Test
+    public void negativeGoalWithErrorBeyondIntRange() throws Exception {
+        IntSubsetPredicate<Integer> predicate = new IntSubsetPredicate<>(Integer::intValue, Integer.MIN_VALUE, Integer.MIN_VALUE);
+
+        assertSame(MATCH, predicate.apply(0));
+        assertSame(MATCH, predicate.apply(Integer.MIN_VALUE));
+        assertSame(MATCH, predicate.apply(Integer.MIN_VALUE));
+        assertSame(TOO_MANY, predicate.apply(-1));
+    }
+}
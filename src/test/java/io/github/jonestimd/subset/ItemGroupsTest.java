@@ -0,0 +1,42 @@
+package io.github.jonestimd.subset;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+
+import com.google.common.collect.Lists;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class ItemGroupsTest {
+    private final ItemGroups<String> groups = new ItemGroups<>(Arrays.asList("a1", "b1", "a2", "c1", "a3", "b2"), item -> item.charAt(0));
+
+    @Test
+    public void groupsItemsByKey() throws Exception {
+        assertEquals(Arrays.asList("a1", "a2", "a3", "b1", "b2", "c1"), groups.getItems());
+        assertEquals(3, groups.size());
+        assertEquals(3, groups.count(0));
+        assertEquals(2, groups.count(1));
+        assertEquals("b1", groups.first(1));
+        assertEquals(2, groups.group("c9"));
+        assertArrayEquals(new int[] {3, 3, 3, 5, 5, 6}, groups.nextGroupStarts());
+    }
+
+    @Test
+    public void expandCanonical() throws Exception {
+        List<List<String>> subsets = Lists.newArrayList(groups.expand(new int[] {0, 0, 1}, true));
+
+        assertEquals(Arrays.asList(Arrays.asList("a1", "a2", "b1")), subsets);
+    }
+
+    @Test
+    public void expandAllCombinations() throws Exception {
+        Iterator<List<String>> subsets = groups.expand(new int[] {0, 0, 1}, false);
+
+        assertEquals(Arrays.asList(
+                Arrays.asList("a1", "a2", "b1"), Arrays.asList("a1", "a2", "b2"),
+                Arrays.asList("a1", "a3", "b1"), Arrays.asList("a1", "a3", "b2"),
+                Arrays.asList("a2", "a3", "b1"), Arrays.asList("a2", "a3", "b2")), Lists.newArrayList(subsets));
+    }
+}
@@ -0,0 +1,42 @@
+package io.github.jonestimd.subset;
+
+import java.io.File;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.junit.Assert.*;
+
+public class LinkFileTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void setAndGetLinks() throws Exception {
+        LinkFile linkFile = new LinkFile(folder.getRoot().toPath());
+
+        linkFile.set(0, 3, -1, -1);
+        linkFile.set(5000000, 7, 0, -1);
+        linkFile.setNext(0, 5000000);
+
+        assertEquals(3, linkFile.item(0));
+        assertEquals(-1, linkFile.previous(0));
+        assertEquals(5000000, linkFile.next(0));
+        assertEquals(7, linkFile.item(5000000));
+        assertEquals(0, linkFile.previous(5000000));
+        assertEquals(-1, linkFile.next(5000000));
+        assertEquals(1, folder.getRoot().listFiles().length);
+        linkFile.close();
+    }
+
+    @Test
+    public void closeDeletesFile() throws Exception {
+        LinkFile linkFile = new LinkFile(folder.getRoot().toPath());
+        linkFile.set(0, 1, -1, -1);
+
+        linkFile.close();
+
+        assertArrayEquals(new File[0], folder.getRoot().listFiles());
+    }
+}
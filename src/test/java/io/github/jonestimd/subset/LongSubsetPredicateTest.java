@@ -0,0 +1,86 @@
+package io.github.jonestimd.subset;
+
+import java.util.Arrays;
+
+import org.junit.Test;
+
+import static io.github.jonestimd.subset.SubsetPredicateResult.*;
+import static org.junit.Assert.*;
+
+public class LongSubsetPredicateTest {
+    @Test
+    public void positiveGoalWithError() throws Exception {
+        LongSubsetPredicate<Long> predicate = new LongSubsetPredicate<>(Long::longValue, 10L, 1L);
+
+        assertSame(TOO_FEW, predicate.apply(8L));
+        assertSame(MATCH, predicate.apply(1L));
+        assertSame(MATCH, predicate.apply(1L));
+        assertSame(MATCH, predicate.apply(1L));
+        assertSame(TOO_MANY, predicate.apply(1L));
+
+        predicate.remove(5L);
+        assertSame(TOO_FEW, predicate.apply(1L));
+        assertSame(MATCH, predicate.apply(1L));
+
+        predicate.reset();
+        assertSame(TOO_FEW, predicate.apply(8L));
+        assertSame(MATCH, predicate.apply(1L));
+    }
+
+    @Test
+    public void negativeGoalZeroError() throws Exception {
+        LongSubsetPredicate<Long> predicate = new LongSubsetPredicate<>(Long::longValue, -10L, 0L);
+
+        assertSame(TOO_FEW, predicate.apply(-9L));
+        assertSame(MATCH, predicate.apply(-1L));
+        assertSame(TOO_MANY, predicate.apply(-1L));
+
+        predicate.remove(-3L);
+        assertSame(TOO_FEW, predicate.apply(-1L));
+        assertSame(MATCH, predicate.apply(-1L));
+    }
+
+    @Test
+    public void applyByIndexUsesValuesFromReset() throws Exception {
+        LongSubsetPredicate<Long> predicate = new LongSubsetPredicate<>(Long::longValue, 10000000000L, 0L);
+        predicate.apply(1L);
+
+        predicate.reset(Arrays.asList(3000000000L, 7000000000L, 1L));
+
+        assertSame(TOO_FEW, predicate.applyIndex(0));
+        assertSame(MATCH, predicate.applyIndex(1));
+        assertSame(TOO_MANY, predicate.applyIndex(2));
+        predicate.removeIndex(2);
+        predicate.removeIndex(0);
+        assertSame(TOO_FEW, predicate.applyIndex(2));
+        predicate.removeIndex(2);
+        assertSame(MATCH, predicate.apply(3000000000L));
+    }
+
+    @Test
+    public void canReachUsesRemainingPositiveAndNegativeValues() throws Exception {
+        LongSubsetPredicate<Long> predicate = new LongSubsetPredicate<>(Long::longValue, 10L, 1L);
+        predicate.reset(Arrays.asList(20L, -8L, 4L, 3L, -2L));
+
+        assertTrue(predicate.canReach(0));
+        assertFalse(predicate.canReach(1));
+        assertFalse(predicate.canReach(5));
+
+        predicate.applyIndex(0);
+        assertTrue(predicate.canReach(1));
+        assertFalse(predicate.canReach(2));
+        predicate.applyIndex(1);
+        assertTrue(predicate.canReach(2));
+        assertTrue(predicate.canReach(4));
+        assertFalse(predicate.canReach(5));
+    }
+
+    @Test
+    public void goalWithErrorBeyondLongRange() throws Exception {
+        LongSubsetPredicate<Long> predicate = new LongSubsetPredicate<>(Long::longValue, Long.MAX_VALUE, 1L);
+
+        assertSame(TOO_FEW, predicate.apply(Long.MAX_VALUE - 2L));
+        assertSame(MATCH, predicate.apply(1L));
+        assertSame(MATCH, predicate.apply(1L));
+    }
+}
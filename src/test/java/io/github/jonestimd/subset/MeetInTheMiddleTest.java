@@ -0,0 +1,91 @@
+package io.github.jonestimd.subset;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class MeetInTheMiddleTest {
+    @Test
+    public void mixedSignMatches() throws Exception {
+        List<Long> items = Arrays.asList(-5L, 3L, 8L, -2L, 7L);
+
+        List<List<Long>> subsets = MeetInTheMiddle.subsets(items, 1L, 0L, -1, Long::valueOf);
+
+        assertEquals(sorted(Arrays.asList(Arrays.asList(3L, -2L), Arrays.asList(-5L, 8L, -2L))), sorted(subsets));
+    }
+
+    @Test
+    public void zeroSumExcludesEmptySubset() throws Exception {
+        List<Long> items = Arrays.asList(-5L, 5L, 1L);
+
+        assertEquals(Collections.singletonList(Arrays.asList(-5L, 5L)), MeetInTheMiddle.subsets(items, 0L, 0L, -1, Long::valueOf));
+    }
+
+    @Test
+    public void maxResultsLimitsMatches() throws Exception {
+        List<Long> items = Arrays.asList(1L, 1L, 1L, 1L, 1L);
+
+        assertEquals(3, MeetInTheMiddle.subsets(items, 2L, 0L, 3, Long::valueOf).size());
+        assertEquals(10, MeetInTheMiddle.subsets(items, 2L, 0L, -1, Long::valueOf).size());
+    }
+
+    @Test
+    public void bigDecimalWithTolerance() throws Exception {
+        List<BigDecimal> items = Arrays.asList(new BigDecimal("1.05"), new BigDecimal("-2.5"), new BigDecimal("4"));
+
+        List<List<BigDecimal>> subsets = MeetInTheMiddle.subsets(new BigDecimal("1.5"), new BigDecimal("0.1"), items, value -> value, -1);
+
+        assertEquals(Collections.singletonList(Arrays.asList(items.get(1), items.get(2))), subsets);
+    }
+
+    @Test
+    public void randomSubsetsMatchBruteForce() throws Exception {
+        Random random = new Random(1L);
+        for (int n = 0; n <= 12; n++) {
+            List<Long> items = new ArrayList<>();
+            for (int i = 0; i < n; i++) {
+                items.add((long) random.nextInt(201) - 100);
+            }
+            long sum = random.nextInt(101) - 50;
+            long tolerance = random.nextInt(3);
+
+            assertEquals(sorted(bruteForce(items, sum, tolerance)), sorted(MeetInTheMiddle.subsets(items, sum, tolerance, -1, Long::valueOf)));
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void tooManyItems() throws Exception {
+        MeetInTheMiddle.subsets(Collections.nCopies(MeetInTheMiddle.MAX_ITEMS + 1, 1L), 1L, 0L, -1, Long::valueOf);
+    }
+
+    private List<List<Long>> bruteForce(List<Long> items, long sum, long tolerance) {
+        List<List<Long>> subsets = new ArrayList<>();
+        for (int mask = 1; mask < 1 << items.size(); mask++) {
+            List<Long> subset = new ArrayList<>();
+            long total = 0L;
+            for (int i = 0; i < items.size(); i++) {
+                if ((mask & 1 << i) != 0) {
+                    subset.add(items.get(i));
+                    total += items.get(i);
+                }
+            }
+            if (Math.abs(total - sum) <= tolerance) {
+                subsets.add(subset);
+            }
+        }
+        return subsets;
+    }
+
+    private List<String> sorted(List<? extends List<Long>> subsets) {
+        return subsets.stream().map(Object::toString).sorted(Comparator.naturalOrder()).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,96 @@
+package io.github.jonestimd.subset;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class MultisetSubsetSumTest {
+    @Test
+    public void canonicalReturnsOneSubsetPerCombinationOfValues() throws Exception {
+        List<Long> items = Arrays.asList(5L, 3L, 5L, 5L, 2L, 3L, 5L);
+
+        List<List<Long>> subsets = MultisetSubsetSum.subsets(items, 10L, 0L, -1, Long::valueOf, true);
+
+        assertEquals(Arrays.asList(Arrays.asList(5L, 5L), Arrays.asList(5L, 3L, 2L)), subsets);
+    }
+
+    @Test
+    public void returnsAllSubsetsOfItems() throws Exception {
+        List<String> items = Arrays.asList("5a", "3a", "5b", "5c", "2a", "3b", "5d");
+
+        List<List<String>> subsets = MultisetSubsetSum.subsets(items, 10L, 0L, -1, MultisetSubsetSumTest::value, false);
+
+        assertEquals(14, subsets.size());
+        assertEquals(14, new HashSet<>(subsets).size());
+        assertEquals(Arrays.asList("5a", "5b"), subsets.get(0));
+        assertEquals(Arrays.asList("5c", "5d"), subsets.get(5));
+        assertEquals(Arrays.asList("5a", "3a", "2a"), subsets.get(6));
+        assertEquals(Arrays.asList("5d", "3b", "2a"), subsets.get(13));
+    }
+
+    @Test
+    public void maxResultsLimitsSubsets() throws Exception {
+        List<String> items = Arrays.asList("5a", "3a", "5b", "5c", "2a", "3b", "5d");
+
+        assertEquals(3, MultisetSubsetSum.subsets(items, 10L, 0L, 3, MultisetSubsetSumTest::value, false).size());
+        assertEquals(2, MultisetSubsetSum.subsets(items, 10L, 0L, 3, MultisetSubsetSumTest::value, true).size());
+    }
+
+    @Test
+    public void mixedSignWithTolerance() throws Exception {
+        List<BigDecimal> items = Arrays.asList(new BigDecimal("-1.5"), new BigDecimal("2"), new BigDecimal("-1.5"), new BigDecimal("2"));
+
+        List<List<BigDecimal>> subsets = MultisetSubsetSum.subsets(new BigDecimal("1"), new BigDecimal("0.5"), items, value -> value, -1, true);
+
+        assertEquals(Arrays.asList(Arrays.asList(items.get(0), items.get(2), items.get(1), items.get(3)),
+                Arrays.asList(items.get(0), items.get(1))), subsets);
+    }
+
+    @Test
+    public void matchesBruteForceSearch() throws Exception {
+        Random random = new Random();
+        for (int trial = 0; trial < 20; trial++) {
+            List<Long> items = new ArrayList<>();
+            for (int i = 0; i < 14; i++) {
+                items.add((long) random.nextInt(10) - 3L);
+            }
+            long sum = random.nextInt(20) - 5L;
+
+            List<List<Long>> expected = new ArrayList<>();
+            Combinations.visitCombinations(items, new CombinationVisitor<Long>() {
+                public boolean itemAdded(List<Long> subset, Long item) {
+                    if (subset.stream().mapToLong(Long::longValue).sum() == sum && ! subset.contains(0L)) {
+                        expected.add(subset);
+                    }
+                    return true;
+                }
+
+                public void itemRemoved(Long item) {
+                }
+            });
+            Set<List<Long>> expectedPatterns = expected.stream().map(this::sorted).collect(Collectors.toSet());
+
+            List<List<Long>> canonical = MultisetSubsetSum.subsets(items, sum, 0L, -1, Long::valueOf, true);
+            assertEquals(expectedPatterns, canonical.stream().map(this::sorted).collect(Collectors.toSet()));
+            assertEquals(expectedPatterns.size(), canonical.size());
+            assertEquals(expected.size(), MultisetSubsetSum.subsets(items, sum, 0L, -1, Long::valueOf, false).size());
+        }
+    }
+
+    private List<Long> sorted(List<Long> subset) {
+        return subset.stream().sorted().collect(Collectors.toList());
+    }
+
+    private static Long value(String item) {
+        return Long.valueOf(item.substring(0, 1));
+    }
+}
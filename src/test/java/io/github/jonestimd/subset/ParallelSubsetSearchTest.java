@@ -0,0 +1,100 @@
+package io.github.jonestimd.subset;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class ParallelSubsetSearchTest {
+    private static Function<BigDecimal, BigDecimal> NOOP_ADAPTER = container -> container;
+
+    @Test
+    public void uniformSignReturnsSameMatchesAsSubsetSearch() throws Exception {
+        List<BigDecimal> items = Arrays.asList(BigDecimal.TEN, new BigDecimal("11"), new BigDecimal("13"),
+                new BigDecimal("17"), new BigDecimal("25"), new BigDecimal("2"), new BigDecimal("8"));
+        BigDecimal goal = new BigDecimal(38);
+
+        List<List<BigDecimal>> expected = SubsetSearch.uniformSign(new BigDecimalSubsetPredicate<>(NOOP_ADAPTER, goal)).findSubSets(items);
+        List<List<BigDecimal>> actual = ParallelSubsetSearch.uniformSign(() -> new BigDecimalSubsetPredicate<>(NOOP_ADAPTER, goal)).findSubSets(items);
+
+        assertFalse(expected.isEmpty());
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    public void mixedSignReturnsSameMatchesAsSubsetSearch() throws Exception {
+        Random random = new Random(1L);
+        List<BigDecimal> items = new ArrayList<>();
+        for (int i = 0; i < 14; i++) {
+            items.add(new BigDecimal(random.nextInt(41) - 20));
+        }
+        BigDecimal goal = new BigDecimal(7);
+
+        List<List<BigDecimal>> expected = SubsetSearch.mixedSign(new BigDecimalSubsetPredicate<>(NOOP_ADAPTER, goal)).findSubSets(items);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            for (int splitDepth = 0; splitDepth <= items.size() + 1; splitDepth += 3) {
+                ParallelSubsetSearch<BigDecimal> search = new ParallelSubsetSearch<>(SubsetSearch::mixedSign,
+                        () -> new BigDecimalSubsetPredicate<>(NOOP_ADAPTER, goal), pool, splitDepth);
+
+                assertEquals(expected, search.findSubSets(items));
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void mixedSignWithBoundedPredicateReturnsSameMatchesAsSubsetSearch() throws Exception {
+        Random random = new Random(1L);
+        List<Long> items = new ArrayList<>();
+        for (int i = 0; i < 14; i++) {
+            items.add((long) random.nextInt(41) - 20);
+        }
+
+        List<List<Long>> expected = SubsetSearch.mixedSign(new LongSubsetPredicate<>(Long::longValue, 7L, 0L)).findSubSets(items);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            for (int splitDepth = 0; splitDepth <= items.size() + 1; splitDepth += 3) {
+                ParallelSubsetSearch<Long> search = new ParallelSubsetSearch<>(SubsetSearch::mixedSign,
+                        () -> new LongSubsetPredicate<>(Long::longValue, 7L, 0L), pool, splitDepth);
+
+                assertEquals(expected, search.findSubSets(items));
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void boundedPredicateSkipsTasksThatCanNotMatch() throws Exception {
+        List<Long> items = Arrays.asList(1L, 2L, 3L, 4L, 5L, 6L, 7L, 8L);
+        AtomicInteger tasks = new AtomicInteger();
+        ForkJoinPool pool = new ForkJoinPool(2);
+        try {
+            ParallelSubsetSearch<Long> search = new ParallelSubsetSearch<>(SubsetSearch::mixedSign, () -> {
+                tasks.incrementAndGet();
+                return new LongSubsetPredicate<>(Long::longValue, 100L, 0L);
+            }, pool, items.size());
+
+            assertTrue(search.findSubSets(items).isEmpty());
+            assertEquals(1, tasks.get());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void emptyCollection() throws Exception {
+        assertTrue(ParallelSubsetSearch.mixedSign(() -> new BigDecimalSubsetPredicate<>(NOOP_ADAPTER, BigDecimal.ONE))
+                .findSubSets(new ArrayList<>()).isEmpty());
+    }
+}
@@ -0,0 +1,61 @@
+package io.github.jonestimd.subset;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class PrimitiveSortTest {
+    @Test
+    public void sortsKeysAndValues() throws Exception {
+        long[] keys = {5L, -3L, Long.MAX_VALUE, 0L, Long.MIN_VALUE, 5L, -70000L, 1L << 40};
+        int[] values = {0, 1, 2, 3, 4, 5, 6, 7};
+
+        PrimitiveSort.sort(keys, values);
+
+        assertArrayEquals(new long[] {Long.MIN_VALUE, -70000L, -3L, 0L, 5L, 5L, 1L << 40, Long.MAX_VALUE}, keys);
+        assertArrayEquals(new int[] {4, 6, 1, 3, 0, 5, 7, 2}, values);
+    }
+
+    @Test
+    public void sortsRandomKeys() throws Exception {
+        Random random = new Random(1L);
+        long[] keys = new long[1000];
+        int[] values = new int[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = random.nextLong() >> random.nextInt(64);
+            values[i] = i;
+        }
+        long[] original = keys.clone();
+        long[] expected = keys.clone();
+        Arrays.sort(expected);
+
+        PrimitiveSort.sort(keys, values);
+
+        assertArrayEquals(expected, keys);
+        for (int i = 0; i < keys.length; i++) {
+            assertEquals(keys[i], original[values[i]]);
+        }
+    }
+
+    @Test
+    public void sortIsStable() throws Exception {
+        Random random = new Random(1L);
+        for (int length : new int[] {100, 5000}) {
+            long[] keys = new long[length];
+            int[] values = new int[length];
+            for (int i = 0; i < length; i++) {
+                keys[i] = random.nextInt(20) - 10;
+                values[i] = i;
+            }
+
+            PrimitiveSort.sort(keys, values);
+
+            for (int i = 1; i < length; i++) {
+                assertTrue(keys[i - 1] < keys[i] || keys[i - 1] == keys[i] && values[i - 1] < values[i]);
+            }
+        }
+    }
+}
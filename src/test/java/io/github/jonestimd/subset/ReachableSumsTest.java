@@ -0,0 +1,67 @@
+package io.github.jonestimd.subset;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class ReachableSumsTest {
+    @Test
+    public void containsSubsetSums() throws Exception {
+        ReachableSums sums = ReachableSums.of(new long[] {3L, 5L, 70L}, 200L);
+
+        assertFalse(sums.contains(0L));
+        assertTrue(sums.contains(3L));
+        assertTrue(sums.contains(5L));
+        assertTrue(sums.contains(8L));
+        assertTrue(sums.contains(70L));
+        assertTrue(sums.contains(73L));
+        assertTrue(sums.contains(75L));
+        assertTrue(sums.contains(78L));
+        assertFalse(sums.contains(4L));
+        assertFalse(sums.contains(71L));
+        assertFalse(sums.contains(79L));
+        assertFalse(sums.contains(201L));
+        assertEquals(7, sums.count(200L));
+        assertEquals(4, sums.count(70L));
+        assertEquals(0, sums.count(2L));
+    }
+
+    @Test
+    public void highestReturnsLargestSumInRange() throws Exception {
+        ReachableSums sums = ReachableSums.of(new long[] {64L, 129L}, 1000L);
+
+        assertEquals(193L, sums.highest(0L, 1000L));
+        assertEquals(129L, sums.highest(65L, 192L));
+        assertEquals(64L, sums.highest(64L, 128L));
+        assertEquals(-1L, sums.highest(65L, 128L));
+        assertEquals(-1L, sums.highest(194L, 1000L));
+        assertEquals(-1L, sums.highest(100L, 50L));
+    }
+
+    @Test
+    public void ignoresSumsGreaterThanMaxSum() throws Exception {
+        ReachableSums sums = ReachableSums.of(new long[] {40L, 50L, 300L}, 100L);
+
+        assertEquals(90L, sums.highest(0L, 1000L));
+        assertEquals(3, sums.count(1000L));
+    }
+
+    @Test
+    public void ofReturnsNullForUnsupportedValues() throws Exception {
+        assertNull(ReachableSums.of(new long[] {-1L, 5L}, 100L));
+        assertNull(ReachableSums.of(new long[] {1L, 5L}, ReachableSums.MAX_SUM + 1));
+        assertNull(ReachableSums.of(new long[] {1L, 5L}, -1L));
+    }
+
+    @Test
+    public void ofReusesPreviousBitset() throws Exception {
+        ReachableSums previous = ReachableSums.of(new long[] {3L, 70L}, 100L);
+
+        ReachableSums sums = ReachableSums.of(new long[] {5L}, 64L, previous);
+
+        assertSame(previous, sums);
+        assertEquals(1, sums.count(100L));
+        assertEquals(5L, sums.highest(0L, 100L));
+        assertNotSame(previous, ReachableSums.of(new long[] {5L}, 200L, previous));
+    }
+}
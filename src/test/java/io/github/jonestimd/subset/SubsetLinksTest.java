@@ -0,0 +1,109 @@
+package io.github.jonestimd.subset;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.junit.Assert.*;
+
+public class SubsetLinksTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void addKeepsInsertionOrderForSlot() throws Exception {
+        SubsetLinks links = new SubsetLinks(1, 1);
+
+        int first = links.add(0, 3, -1);
+        int second = links.add(0, 5, -1);
+        int third = links.add(0, 7, -1);
+
+        assertEquals(3, links.size(0));
+        assertEquals(first, links.first(0));
+        assertEquals(second, links.next(first));
+        assertEquals(third, links.next(second));
+        assertEquals(-1, links.next(third));
+    }
+
+    @Test
+    public void indexesFollowsPreviousLinks() throws Exception {
+        SubsetLinks links = new SubsetLinks(1, 1);
+
+        int link1 = links.add(1, 1, -1);
+        int link2 = links.add(6, 2, link1);
+        int link3 = links.add(9, 4, link2);
+        links.add(5, 4, link1);
+
+        assertArrayEquals(new int[] {1}, links.indexes(link1));
+        assertArrayEquals(new int[] {1, 2}, links.indexes(link2));
+        assertArrayEquals(new int[] {1, 2, 4}, links.indexes(link3));
+        assertArrayEquals(new int[] {1, 4}, links.indexes(links.first(5)));
+        assertEquals(0, links.size(0));
+        assertEquals(0, links.size(100));
+    }
+
+    @Test
+    public void clearRemovesAllLinks() throws Exception {
+        SubsetLinks links = new SubsetLinks(1, 1);
+        links.add(3, 1, -1);
+        links.add(3, 2, -1);
+
+        links.clear();
+
+        assertEquals(0, links.size(3));
+        int link = links.add(3, 5, -1);
+        assertEquals(0, link);
+        assertEquals(1, links.size(3));
+        assertEquals(link, links.first(3));
+        assertEquals(-1, links.next(link));
+    }
+
+    @Test
+    public void spillsLinksBeyondMemoryBudget() throws Exception {
+        SubsetLinks links = new SubsetLinks(1, 1, 4 * SubsetLinks.LINK_BYTES, folder.getRoot().toPath());
+
+        int link = -1;
+        for (int item = 0; item < 10; item++) {
+            link = links.add(item % 3, item, link);
+        }
+
+        assertTrue(links.isSpilled());
+        assertEquals(1, folder.getRoot().listFiles().length);
+        assertArrayEquals(new int[] {0, 1, 2, 3, 4, 5, 6, 7, 8, 9}, links.indexes(link));
+        assertEquals(4, links.size(0));
+        int expected = 0;
+        for (int next = links.first(0); next >= 0; next = links.next(next)) {
+            assertEquals(expected, links.indexes(next).length - 1);
+            expected += 3;
+        }
+        assertEquals(12, expected);
+        links.clear();
+        assertFalse(links.isSpilled());
+        links.add(0, 0, -1);
+        assertFalse(links.isSpilled());
+        links.close();
+        assertEquals(0, folder.getRoot().listFiles().length);
+    }
+
+    @Test
+    public void appendReservedLinks() throws Exception {
+        SubsetLinks links = new SubsetLinks(1, 1);
+        int link1 = links.add(2, 1, -1);
+
+        int first = links.reserve(3);
+        links.set(first, 4, link1, first + 1);
+        links.set(first + 1, 5, -1, first + 2);
+        links.set(first + 2, 6, link1, -1);
+        links.append(2, first, 3);
+        int link2 = links.add(2, 7, -1);
+
+        assertEquals(5, links.linkCount());
+        assertEquals(5, links.size(2));
+        assertEquals(first, links.next(link1));
+        assertArrayEquals(new int[] {1, 4}, links.indexes(first));
+        assertArrayEquals(new int[] {5}, links.indexes(first + 1));
+        assertArrayEquals(new int[] {1, 6}, links.indexes(first + 2));
+        assertEquals(link2, links.next(first + 2));
+        assertEquals(-1, links.next(link2));
+    }
+}
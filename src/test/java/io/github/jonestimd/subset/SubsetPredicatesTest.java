@@ -1,5 +1,10 @@
 package io.github.jonestimd.subset;
 
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+
 import org.junit.Test;
 
 import static io.github.jonestimd.subset.SubsetPredicateResult.*;
@@ -57,4 +62,35 @@ public class SubsetPredicatesTest {
         verify(predicate2).reset();
         verifyNoMoreInteractions(predicate1, predicate2);
     }
+
+    @Test
+    public void sumReturnsIntPredicateForSmallValues() throws Exception {
+        List<BigDecimal> items = Arrays.asList(new BigDecimal("1.25"), new BigDecimal("2.5"), new BigDecimal("-3"));
+
+        SubsetPredicate<BigDecimal> predicate = SubsetPredicates.sum(items, Function.identity(), new BigDecimal("3.75"), BigDecimal.ZERO);
+
+        assertThat(predicate).isInstanceOf(IntSubsetPredicate.class);
+        assertThat(predicate.apply(new BigDecimal("1.25"))).isSameAs(TOO_FEW);
+        assertThat(predicate.apply(new BigDecimal("2.5"))).isSameAs(MATCH);
+    }
+
+    @Test
+    public void sumReturnsLongPredicateForLargeValues() throws Exception {
+        List<BigDecimal> items = Arrays.asList(new BigDecimal("30000000.01"), new BigDecimal("2.5"));
+
+        SubsetPredicate<BigDecimal> predicate = SubsetPredicates.sum(items, Function.identity(), new BigDecimal("30000002.51"), new BigDecimal("0.1"));
+
+        assertThat(predicate).isInstanceOf(LongSubsetPredicate.class);
+        assertThat(predicate.apply(new BigDecimal("2.5"))).isSameAs(TOO_FEW);
+        assertThat(predicate.apply(new BigDecimal("30000000.01"))).isSameAs(MATCH);
+    }
+
+    @Test
+    public void sumReturnsBigDecimalPredicateForOverflow() throws Exception {
+        List<BigDecimal> items = Arrays.asList(new BigDecimal("1E+30"), BigDecimal.ONE);
+
+        SubsetPredicate<BigDecimal> predicate = SubsetPredicates.sum(items, Function.identity(), BigDecimal.ONE, BigDecimal.ZERO);
+
+        assertThat(predicate).isInstanceOf(BigDecimalSubsetPredicate.class);
+    }
 }
@@ -0,0 +1,75 @@
+package io.github.jonestimd.subset;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.Test;
+
+import static java.util.Arrays.*;
+import static org.junit.Assert.*;
+
+public class SubsetRankingTest {
+    @Test
+    public void fewestItems() throws Exception {
+        Comparator<List<Integer>> ranking = SubsetRanking.fewestItems();
+
+        assertTrue(ranking.compare(asList(5), asList(1, 2)) < 0);
+        assertTrue(ranking.compare(asList(1, 2), asList(3)) > 0);
+        assertEquals(0, ranking.compare(asList(1, 2), asList(3, 4)));
+    }
+
+    @Test
+    public void byItemsComparesSortedItems() throws Exception {
+        Comparator<List<Integer>> ranking = SubsetRanking.byItems(Comparator.<Integer>naturalOrder());
+
+        assertTrue(ranking.compare(asList(9, 1), asList(2, 3)) < 0);
+        assertTrue(ranking.compare(asList(3, 2, 9), asList(2, 3, 4)) > 0);
+        assertTrue(ranking.compare(asList(2, 3), asList(3, 2, 4)) < 0);
+        assertEquals(0, ranking.compare(asList(3, 2), asList(2, 3)));
+    }
+
+    @Test
+    public void byCost() throws Exception {
+        Comparator<List<Integer>> ranking = SubsetRanking.byCost(subset -> subset.stream().mapToInt(i -> i * i).sum());
+
+        assertTrue(ranking.compare(asList(1, 2), asList(3)) < 0);
+        assertTrue(ranking.compare(asList(3), asList(1, 1)) > 0);
+    }
+
+    @Test
+    public void topKeepsBestInOrderFound() throws Exception {
+        List<List<Integer>> best = Stream.of(asList(1, 2, 3), asList(4), asList(5, 6), asList(7), asList(8, 9), asList(10))
+                .collect(SubsetRanking.top(3, SubsetRanking.fewestItems()));
+
+        assertEquals(asList(asList(4), asList(7), asList(10)), best);
+    }
+
+    @Test
+    public void topWithNegativeLimitSortsAll() throws Exception {
+        List<Integer> best = Stream.of(5, 3, 9, 1).collect(SubsetRanking.top(-1, Comparator.<Integer>naturalOrder()));
+
+        assertEquals(asList(1, 3, 5, 9), best);
+    }
+
+    @Test
+    public void topWithZeroLimitReturnsEmptyList() throws Exception {
+        List<Integer> best = Stream.of(5, 3, 9, 1).collect(SubsetRanking.top(0, Comparator.<Integer>naturalOrder()));
+
+        assertEquals(Collections.emptyList(), best);
+    }
+
+    @Test
+    public void topOfEmptyStream() throws Exception {
+        assertEquals(Collections.emptyList(), Stream.<Integer>empty().collect(SubsetRanking.top(2, Comparator.<Integer>naturalOrder())));
+    }
+
+    @Test
+    public void topOfParallelStream() throws Exception {
+        List<Integer> best = Arrays.asList(8, 6, 4, 2, 7, 5, 3, 1).parallelStream().collect(SubsetRanking.top(3, Comparator.<Integer>naturalOrder()));
+
+        assertEquals(asList(1, 2, 3), best);
+    }
+}
@@ -1,12 +1,19 @@
 package io.github.jonestimd.subset;
 
 import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.junit.Test;
 
@@ -80,6 +87,202 @@ public class SubsetSearchTest {
         checkResult(subSets(items, 46), Arrays.asList(items.get(0), items.get(1), items.get(4)));
     }
 
+    @Test
+    public void streamSubSetsReturnsSameMatchesAsFindSubSets() throws Exception {
+        List<BigDecimal> items = Arrays.asList(BigDecimal.TEN, new BigDecimal("11"), new BigDecimal("13"),
+                new BigDecimal("17"), new BigDecimal("25"));
+        SubsetSearch<BigDecimal> search = SubsetSearch.uniformSign(new BigDecimalSubsetPredicate<>(NOOP_ADAPTER, new BigDecimal(38)));
+
+        List<List<BigDecimal>> expected = new ArrayList<>(search.findSubSets(items));
+
+        assertEquals(expected, search.streamSubSets(items).collect(Collectors.toList()));
+    }
+
+    @Test
+    public void indexedPredicateReturnsSameMatchesAsBigDecimalPredicate() throws Exception {
+        Random random = new Random();
+        List<BigDecimal> items = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            items.add(BigDecimal.valueOf(random.nextInt(2000) - 1000, 2));
+        }
+        BigDecimal goal = items.get(1).add(items.get(4)).add(items.get(7));
+        SubsetPredicate<BigDecimal> predicate = SubsetPredicates.sum(items, NOOP_ADAPTER, goal, BigDecimal.ZERO);
+
+        assertTrue(predicate instanceof IntSubsetPredicate);
+        List<List<BigDecimal>> expected = SubsetSearch.mixedSign(new BigDecimalSubsetPredicate<>(NOOP_ADAPTER, goal)).findSubSets(items);
+        assertEquals(expected, SubsetSearch.mixedSign(predicate).findSubSets(items));
+        assertEquals(expected, SubsetSearch.mixedSign(predicate).streamSubSets(items).collect(Collectors.toList()));
+    }
+
+    @Test
+    public void exhaustiveSearchReturnsSameMatchesAsMixedSign() throws Exception {
+        Random random = new Random();
+        List<BigDecimal> items = new ArrayList<>();
+        for (int i = 0; i < 14; i++) {
+            items.add(BigDecimal.valueOf(random.nextInt(200) - 100));
+        }
+        BigDecimal goal = items.get(2).add(items.get(5)).add(items.get(11));
+        Comparator<List<BigDecimal>> order = Comparator.comparing(List::toString);
+
+        List<List<BigDecimal>> expected = SubsetSearch.mixedSign(new BigDecimalSubsetPredicate<>(NOOP_ADAPTER, goal)).findSubSets(items);
+        List<List<BigDecimal>> subsets = SubsetSearch.exhaustive(new LongSubsetPredicate<>(BigDecimal::longValue, goal.longValue(), 0L)).findSubSets(items);
+
+        expected.sort(order);
+        subsets.sort(order);
+        assertEquals(expected, subsets);
+    }
+
+    @Test
+    public void findBestSubSetsReturnsFewestItems() throws Exception {
+        List<Long> items = Arrays.asList(1L, 2L, 3L, 4L, 5L, 6L);
+        SubsetSearch<Long> search = SubsetSearch.uniformSign(new LongSubsetPredicate<>(Long::longValue, 6L, 0L));
+
+        List<List<Long>> best = search.findBestSubSets(items, 2, SubsetRanking.fewestItems());
+
+        assertEquals(Arrays.asList(Arrays.asList(6L), Arrays.asList(1L, 5L)), best);
+    }
+
+    @Test
+    public void boundedPredicateSkipsUnreachableSupersets() throws Exception {
+        List<Long> items = new ArrayList<>();
+        for (long i = 1; i <= 20; i++) {
+            items.add(i % 2 == 0 ? i * 100 : -i * 100);
+        }
+        SearchLimits limits = SearchLimits.none().withMaxNodes(100000L);
+
+        SearchResult<Long> unbounded = SubsetSearch.mixedSign(SubsetPredicates.and(new LongSubsetPredicate<>(Long::longValue, 10800L, 0L))).findSubSets(items, limits);
+        SearchResult<Long> bounded = SubsetSearch.mixedSign(new LongSubsetPredicate<>(Long::longValue, 10800L, 0L)).findSubSets(items, limits);
+
+        assertTrue(unbounded.isPartial());
+        assertFalse(bounded.isPartial());
+        assertEquals(1, bounded.getSubsets().size());
+        assertEquals(Arrays.asList(400L, 600L, 800L, 1000L, 1200L, 1400L, 1600L, 1800L, 2000L), bounded.getSubsets().get(0));
+    }
+
+    @Test
+    public void multisetSearchSkipsEquivalentSubsets() throws Exception {
+        List<String> items = Arrays.asList("5a", "3a", "5b", "5c", "2a", "3b", "5d");
+        SubsetSearch<String> search = SubsetSearch.uniformSign(new LongSubsetPredicate<>(item -> Long.parseLong(item.substring(0, 1)), 10L, 0L));
+
+        List<List<String>> canonical = search.findSubSets(items, item -> item.charAt(0), true);
+        List<List<String>> all = search.findSubSets(items, item -> item.charAt(0), false);
+
+        assertEquals(Arrays.asList(Arrays.asList("5a", "5b"), Arrays.asList("5a", "3a", "2a")), canonical);
+        assertEquals(14, all.size());
+        assertEquals(new HashSet<>(search.findSubSets(items)), new HashSet<>(all.stream().map(subset -> subset.stream()
+                .sorted(Comparator.comparing(items::indexOf)).collect(Collectors.toList())).collect(Collectors.toList())));
+    }
+
+    @Test
+    public void streamSubSetsStopsSearchWhenLimitIsReached() throws Exception {
+        List<BigDecimal> items = Arrays.asList(BigDecimal.ONE, BigDecimal.ONE, BigDecimal.ONE, BigDecimal.ONE);
+        AtomicInteger applyCount = new AtomicInteger();
+        SubsetSearch<BigDecimal> search = SubsetSearch.mixedSign(SubsetPredicates.and(new BigDecimalSubsetPredicate<>(item -> {
+            applyCount.incrementAndGet();
+            return item;
+        }, BigDecimal.ONE)));
+
+        Stream<List<BigDecimal>> matches = search.streamSubSets(items);
+        assertEquals(0, applyCount.get());
+
+        assertEquals(singletonList(singletonList(BigDecimal.ONE)), matches.limit(1).collect(Collectors.toList()));
+        assertEquals(1, applyCount.get());
+        assertEquals(4, search.streamSubSets(items).count());
+    }
+
+    @Test
+    public void bigDecimalPredicateCallsAdapterOncePerItem() throws Exception {
+        List<BigDecimal> items = Arrays.asList(BigDecimal.ONE, new BigDecimal(2), new BigDecimal(3), new BigDecimal(4), new BigDecimal(5));
+        AtomicInteger applyCount = new AtomicInteger();
+        SubsetSearch<BigDecimal> search = SubsetSearch.mixedSign(new BigDecimalSubsetPredicate<>(item -> {
+            applyCount.incrementAndGet();
+            return item;
+        }, new BigDecimal(6)));
+
+        assertEquals(3, search.findSubSets(items).size());
+        assertEquals(items.size(), applyCount.get());
+    }
+
+    @Test
+    public void findSubSetsWithoutLimitsIsComplete() throws Exception {
+        List<BigDecimal> items = Arrays.asList(BigDecimal.TEN, new BigDecimal("11"), new BigDecimal("13"),
+                new BigDecimal("17"), new BigDecimal("25"));
+        SubsetSearch<BigDecimal> search = SubsetSearch.mixedSign(new BigDecimalSubsetPredicate<>(NOOP_ADAPTER, new BigDecimal(38)));
+        List<List<BigDecimal>> expected = new ArrayList<>(search.findSubSets(items));
+
+        SearchResult<BigDecimal> result = search.findSubSets(items, SearchLimits.none().withMaxNodes(31L));
+
+        assertFalse(result.isPartial());
+        assertEquals(expected, result.getSubsets());
+    }
+
+    @Test
+    public void findSubSetsStopsAtMaxNodes() throws Exception {
+        List<BigDecimal> items = Arrays.asList(BigDecimal.ONE, BigDecimal.ONE, BigDecimal.ONE, BigDecimal.ONE, BigDecimal.ONE);
+        SubsetSearch<BigDecimal> search = SubsetSearch.mixedSign(new BigDecimalSubsetPredicate<>(NOOP_ADAPTER, new BigDecimal(2)));
+
+        SearchResult<BigDecimal> result = search.findSubSets(items, SearchLimits.none().withMaxNodes(30L));
+
+        assertTrue(result.isPartial());
+        assertEquals(10, result.getSubsets().size());
+        assertEquals(1, search.findSubSets(items, SearchLimits.none().withMaxNodes(6L)).getSubsets().size());
+    }
+
+    @Test
+    public void findSubSetsWithListenerCollectsStats() throws Exception {
+        List<BigDecimal> items = Arrays.asList(BigDecimal.ONE, new BigDecimal(2), new BigDecimal(3), new BigDecimal(4));
+        SubsetSearch<BigDecimal> search = SubsetSearch.uniformSign(new BigDecimalSubsetPredicate<>(NOOP_ADAPTER, new BigDecimal(5)));
+        List<SearchStats.Phase> phases = new ArrayList<>();
+        List<SearchStats> completed = new ArrayList<>();
+
+        SearchResult<BigDecimal> result = search.findSubSets(items, SearchLimits.none(), new SearchListener() {
+            public void phaseCompleted(SearchStats.Phase phase, long nanos) {
+                phases.add(phase);
+            }
+
+            public void searchCompleted(SearchStats stats) {
+                completed.add(stats);
+            }
+        });
+
+        SearchStats stats = result.getStats();
+        assertEquals(2, result.getSubsets().size());
+        assertEquals(13L, stats.getNodes());
+        assertEquals(6L, stats.getResults(SubsetPredicateResult.TOO_FEW));
+        assertEquals(5L, stats.getResults(SubsetPredicateResult.TOO_MANY));
+        assertEquals(2L, stats.getResults(SubsetPredicateResult.MATCH));
+        assertEquals(0L, stats.getPrunes(SubsetPredicateResult.TOO_FEW));
+        assertEquals(5L, stats.getPrunes(SubsetPredicateResult.TOO_MANY));
+        assertEquals(2L, stats.getPrunes(SubsetPredicateResult.MATCH));
+        assertEquals(2L, stats.getMatches());
+        assertEquals(singletonList(SearchStats.Phase.SEARCH), phases);
+        assertEquals(singletonList(stats), completed);
+        assertNull(search.findSubSets(items, SearchLimits.none()).getStats());
+    }
+
+    @Test
+    public void findSubSetsStopsWhenCancelled() throws Exception {
+        List<BigDecimal> items = Arrays.asList(BigDecimal.ONE, BigDecimal.ONE, BigDecimal.ONE);
+        SubsetSearch<BigDecimal> search = SubsetSearch.mixedSign(new BigDecimalSubsetPredicate<>(NOOP_ADAPTER, BigDecimal.ONE));
+
+        SearchResult<BigDecimal> result = search.findSubSets(items, SearchLimits.none().withCancellation(() -> true));
+
+        assertTrue(result.isPartial());
+        assertTrue(result.getSubsets().isEmpty());
+    }
+
+    @Test
+    public void findSubSetsStopsAtDeadline() throws Exception {
+        List<BigDecimal> items = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            items.add(BigDecimal.ONE);
+        }
+        SubsetSearch<BigDecimal> search = SubsetSearch.mixedSign(new BigDecimalSubsetPredicate<>(NOOP_ADAPTER, BigDecimal.TEN));
+
+        assertTrue(search.findSubSets(items, SearchLimits.none().withTimeout(Duration.ofMillis(10L))).isPartial());
+        assertTrue(search.findSubSets(items, SearchLimits.none().withDeadline(Instant.now().plusMillis(10L))).isPartial());
+    }
+
     @Test
     public void noMatch() throws Exception {
         List<BigDecimal> items = Arrays.asList(BigDecimal.TEN, new BigDecimal("11"), new BigDecimal("13"),
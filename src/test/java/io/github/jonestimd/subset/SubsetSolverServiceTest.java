@@ -0,0 +1,194 @@
+package io.github.jonestimd.subset;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import org.junit.After;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class SubsetSolverServiceTest {
+    private final ExecutorService executor = Executors.newFixedThreadPool(2);
+
+    @After
+    public void shutdown() throws Exception {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void subsetsReturnsSameResultsAsSubsetSum() throws Exception {
+        List<Long> items = Arrays.asList(1L, 2L, 3L, 4L, 5L, 6L);
+        SubsetSolverService service = new SubsetSolverService(executor);
+
+        CompletableFuture<List<List<Long>>> future = service.subsets(items, 7L, 0L, -1, Long::valueOf);
+
+        assertEquals(SubsetSum.subsets(items, 7L, 0L, -1, Long::valueOf), future.get(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void bigDecimalSubsets() throws Exception {
+        List<BigDecimal> items = Arrays.asList(new BigDecimal("1.5"), new BigDecimal("2.25"), new BigDecimal("3"));
+        SubsetSolverService service = new SubsetSolverService(executor);
+
+        CompletableFuture<List<List<BigDecimal>>> future = service.subsets(new BigDecimal("3.75"), BigDecimal.ZERO, items, Function.identity(), -1);
+
+        assertEquals(Collections.singletonList(Arrays.asList(new BigDecimal("1.5"), new BigDecimal("2.25"))), future.get(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void findSubSetsReturnsMatches() throws Exception {
+        List<Long> items = Arrays.asList(1L, 2L, 3L, 4L);
+        SubsetSolverService service = new SubsetSolverService(executor);
+
+        CompletableFuture<List<List<Long>>> future = service.findSubSets(SubsetSearch.uniformSign(new LongSubsetPredicate<>(Long::longValue, 5L, 0L)), items);
+
+        assertEquals(Arrays.asList(Arrays.asList(1L, 4L), Arrays.asList(2L, 3L)), future.get(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void cancelStopsRunningSearchAndReleasesPermit() throws Exception {
+        // 2^40 subsets without pruning
+        List<Long> items = Collections.nCopies(40, 1L);
+        CountDownLatch started = new CountDownLatch(1);
+        AtomicLong applyCount = new AtomicLong();
+        SubsetPredicate<Long> criteria = new SubsetPredicate<Long>() {
+            public SubsetPredicateResult apply(Long item) {
+                applyCount.incrementAndGet();
+                started.countDown();
+                return SubsetPredicateResult.NO_MATCH;
+            }
+
+            public void remove(Long item) {
+            }
+
+            public void reset() {
+            }
+        };
+        SubsetSolverService service = new SubsetSolverService(executor, 1);
+        CompletableFuture<List<List<Long>>> search = service.findSubSets(SubsetSearch.uniformSign(criteria), items);
+        assertTrue(started.await(10, TimeUnit.SECONDS));
+
+        assertTrue(search.cancel(true));
+
+        // the next search can only run after the cancelled search has stopped and released the permit
+        assertEquals(1, service.subsets(Arrays.asList(1L, 2L), 3L, 0L, -1, Long::valueOf).get(10, TimeUnit.SECONDS).size());
+        long stoppedCount = applyCount.get();
+        Thread.sleep(50L);
+        assertEquals(stoppedCount, applyCount.get());
+        assertTrue(search.isCancelled());
+        assertEquals(1, service.availablePermits());
+    }
+
+    @Test
+    public void queuedSearchesDoNotOccupyExecutorThreads() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        SubsetSolverService service = new SubsetSolverService(executor, 1);
+        CompletableFuture<List<List<Long>>> running = service.findSubSets(SubsetSearch.uniformSign(blockingPredicate(started, release)), Arrays.asList(1L, 2L));
+        assertTrue(started.await(10, TimeUnit.SECONDS));
+
+        CompletableFuture<List<List<Long>>> queued = service.subsets(Arrays.asList(1L, 2L), 3L, 0L, -1, Long::valueOf);
+
+        assertEquals(1, service.getQueueLength());
+        assertEquals(0, service.availablePermits());
+        // the second thread of the executor is still available for other work
+        assertEquals("other", executor.submit(() -> "other").get(10, TimeUnit.SECONDS));
+        assertFalse(queued.isDone());
+        release.countDown();
+        assertEquals(1, queued.get(10, TimeUnit.SECONDS).size());
+        assertEquals(Collections.emptyList(), running.get(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void cancelRemovesQueuedSearch() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicLong queuedApplyCount = new AtomicLong();
+        SubsetSolverService service = new SubsetSolverService(executor, 1);
+        CompletableFuture<List<List<Long>>> running = service.findSubSets(SubsetSearch.uniformSign(blockingPredicate(started, release)), Arrays.asList(1L, 2L));
+        assertTrue(started.await(10, TimeUnit.SECONDS));
+        CompletableFuture<List<List<Long>>> queued = service.subsets(Arrays.asList(1L, 2L), 3L, 0L, -1, item -> {
+            queuedApplyCount.incrementAndGet();
+            return item;
+        });
+
+        assertTrue(queued.cancel(true));
+
+        assertEquals(0, service.getQueueLength());
+        release.countDown();
+        running.get(10, TimeUnit.SECONDS);
+        assertEquals(1, service.subsets(Arrays.asList(1L, 2L), 3L, 0L, -1, Long::valueOf).get(10, TimeUnit.SECONDS).size());
+        assertEquals(0L, queuedApplyCount.get());
+        assertEquals(1, service.availablePermits());
+    }
+
+    @Test
+    public void failedSearchCompletesExceptionally() throws Exception {
+        SubsetSolverService service = new SubsetSolverService(executor);
+
+        CompletableFuture<List<List<String>>> future = service.subsets(Arrays.asList("1", "x"), 1L, 0L, -1, Long::valueOf);
+
+        try {
+            future.get(10, TimeUnit.SECONDS);
+            fail("expected an exception");
+        } catch (ExecutionException ex) {
+            assertTrue(ex.getCause() instanceof NumberFormatException);
+        }
+    }
+
+    @Test
+    public void rejectedSearchCompletesExceptionally() throws Exception {
+        executor.shutdown();
+        SubsetSolverService service = new SubsetSolverService(executor);
+
+        CompletableFuture<List<List<Long>>> future = service.subsets(Arrays.asList(1L, 2L), 3L, 0L, -1, Long::valueOf);
+
+        assertTrue(future.isCompletedExceptionally());
+        try {
+            future.get();
+            fail("expected an exception");
+        } catch (ExecutionException ex) {
+            assertTrue(ex.getCause() instanceof RejectedExecutionException);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsZeroParallelism() throws Exception {
+        new SubsetSolverService(executor, 0);
+    }
+
+    /**
+     * @return a predicate that signals {@code started} and waits for {@code release} when the first item is added
+     */
+    private static SubsetPredicate<Long> blockingPredicate(CountDownLatch started, CountDownLatch release) {
+        return new SubsetPredicate<Long>() {
+            public SubsetPredicateResult apply(Long item) {
+                started.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+                return SubsetPredicateResult.NO_MATCH;
+            }
+
+            public void remove(Long item) {
+            }
+
+            public void reset() {
+            }
+        };
+    }
+}
@@ -0,0 +1,96 @@
+package io.github.jonestimd.subset;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class SubsetSumCacheTest {
+    @Test
+    public void returnsSameSubsetValuesAsSubsetSum() throws Exception {
+        Random random = new Random(25L);
+        SubsetSumCache cache = new SubsetSumCache(100L);
+        for (int i = 0; i < 200; i++) {
+            List<Long> items = new ArrayList<>();
+            for (int j = random.nextInt(12) + 1; j > 0; j--) {
+                items.add((long) random.nextInt(50) - (i % 4 == 0 ? 10 : 0));
+            }
+            long sum = random.nextInt(150);
+            long tolerance = random.nextInt(2);
+            int maxResults = random.nextInt(4) - 1;
+
+            List<List<Long>> expected = SubsetSum.subsets(items, sum, tolerance, maxResults, Long::valueOf);
+
+            assertEquals(sortValues(expected), sortValues(cache.subsets(items, sum, tolerance, maxResults, Long::valueOf)));
+        }
+    }
+
+    @Test
+    public void mapsCachedSubsetsOntoCallerItems() throws Exception {
+        SubsetSumCache cache = new SubsetSumCache(10L);
+
+        List<List<String>> first = cache.subsets(Arrays.asList("4a", "1a", "3a", "2a"), 5L, 0L, -1, SubsetSumCacheTest::value);
+        List<List<String>> second = cache.subsets(Arrays.asList("2b", "3b", "4b", "1b"), 5L, 0L, -1, SubsetSumCacheTest::value);
+
+        assertEquals(Arrays.asList(Arrays.asList("2a", "3a"), Arrays.asList("1a", "4a")), first);
+        assertEquals(Arrays.asList(Arrays.asList("2b", "3b"), Arrays.asList("1b", "4b")), second);
+        assertEquals(1L, cache.stats().hitCount());
+        assertEquals(1L, cache.stats().missCount());
+    }
+
+    @Test
+    public void keyIncludesSearchParameters() throws Exception {
+        SubsetSumCache cache = new SubsetSumCache(10L);
+        List<Long> items = Arrays.asList(1L, 2L, 3L, 4L);
+
+        cache.subsets(items, 5L, 0L, -1, Long::valueOf);
+        cache.subsets(items, 5L, 0L, 1, Long::valueOf);
+        cache.subsets(items, 5L, 1L, -1, Long::valueOf);
+        cache.subsets(items, 6L, 0L, -1, Long::valueOf);
+        cache.subsets(Arrays.asList(1L, 2L, 3L, 5L), 5L, 0L, -1, Long::valueOf);
+
+        assertEquals(0L, cache.stats().hitCount());
+        assertEquals(5L, cache.size());
+    }
+
+    @Test
+    public void bigDecimalSubsets() throws Exception {
+        SubsetSumCache cache = new SubsetSumCache(10L);
+        List<BigDecimal> items = Arrays.asList(new BigDecimal("2.25"), new BigDecimal("1.5"), new BigDecimal("3"));
+
+        List<List<BigDecimal>> subsets = cache.subsets(new BigDecimal("3.75"), BigDecimal.ZERO, items, value -> value, -1);
+
+        assertEquals(Collections.singletonList(Arrays.asList(new BigDecimal("1.5"), new BigDecimal("2.25"))), subsets);
+    }
+
+    @Test
+    public void evictsSearchesBeyondMaximumSize() throws Exception {
+        SubsetSumCache cache = new SubsetSumCache(2L);
+        List<Long> items = Arrays.asList(1L, 2L, 3L, 4L);
+
+        for (long sum = 1L; sum <= 5L; sum++) {
+            cache.subsets(items, sum, 0L, -1, Long::valueOf);
+        }
+
+        assertEquals(2L, cache.size());
+        assertEquals(3L, cache.stats().evictionCount());
+
+        cache.invalidateAll();
+        assertEquals(0L, cache.size());
+    }
+
+    private static List<List<Long>> sortValues(List<List<Long>> subsets) {
+        return subsets.stream().map(subset -> subset.stream().sorted().collect(Collectors.toList())).collect(Collectors.toList());
+    }
+
+    private static Long value(String item) {
+        return Long.valueOf(item.substring(0, 1));
+    }
+}
@@ -0,0 +1,116 @@
+package io.github.jonestimd.subset;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class SubsetSumIndexTest {
+    @Test
+    public void addAndRemoveUpdateSums() throws Exception {
+        SubsetSumIndex<Long> index = new SubsetSumIndex<>(Long::valueOf, 100L);
+        index.add(3L);
+        index.add(5L);
+        index.add(0L);
+        index.add(200L);
+
+        assertTrue(index.contains(3L));
+        assertTrue(index.contains(8L));
+        assertFalse(index.contains(0L));
+        assertFalse(index.contains(4L));
+        assertFalse(index.contains(200L));
+
+        assertTrue(index.remove(3L));
+        assertFalse(index.remove(3L));
+
+        assertFalse(index.contains(3L));
+        assertFalse(index.contains(8L));
+        assertTrue(index.contains(5L));
+        assertEquals(Arrays.asList(5L, 0L, 200L), index.getItems());
+    }
+
+    @Test
+    public void nearestPrefersSmallerSum() throws Exception {
+        SubsetSumIndex<Long> index = new SubsetSumIndex<>(Long::valueOf, 100L);
+        index.add(10L);
+        index.add(20L);
+
+        assertEquals(30L, index.nearest(30L, 0L));
+        assertEquals(20L, index.nearest(25L, 5L));
+        assertEquals(30L, index.nearest(27L, 5L));
+        assertEquals(-1L, index.nearest(15L, 4L));
+        assertEquals(10L, index.nearest(-50L, 1000L));
+    }
+
+    @Test(timeout = 1000L)
+    public void nearestOnlyScansSumsInIndex() throws Exception {
+        SubsetSumIndex<Long> index = new SubsetSumIndex<>(Long::valueOf, 100L);
+        index.add(10L);
+        index.add(20L);
+
+        assertEquals(30L, index.nearest(20_000_000_000L, 20_000_000_000L));
+        assertEquals(-1L, index.nearest(20_000_000_000L, 19_999_999_000L));
+        assertEquals(10L, index.nearest(-20_000_000_000L, 20_000_000_010L));
+        assertEquals(-1L, index.nearest(-20_000_000_000L, 20_000_000_009L));
+        assertEquals(30L, index.nearest(130L, 100L));
+        assertEquals(-1L, index.nearest(131L, 100L));
+        assertEquals(30L, index.nearest(50L, Long.MAX_VALUE));
+        assertEquals(10L, index.nearest(1L, Long.MAX_VALUE));
+        assertEquals(30L, index.nearest(Long.MAX_VALUE, Long.MAX_VALUE));
+        assertEquals(10L, index.nearest(Long.MIN_VALUE + 11, Long.MAX_VALUE));
+        assertEquals(-1L, index.nearest(Long.MIN_VALUE + 10, Long.MAX_VALUE));
+    }
+
+    @Test
+    public void queryReturnsSubsetInItemOrder() throws Exception {
+        SubsetSumIndex<String> index = new SubsetSumIndex<>(Long::valueOf, 1000L);
+        for (String item : Arrays.asList("40", "15", "7", "22", "9")) {
+            index.add(item);
+        }
+
+        assertEquals(Arrays.asList("22"), index.query(23L, 1L));
+        assertEquals(Arrays.asList("15", "9"), index.query(24L, 0L));
+        assertEquals(Arrays.asList("40", "15", "7", "22", "9"), index.query(93L, 0L));
+        assertNull(index.query(94L, 0L));
+    }
+
+    @Test
+    public void matchesSubsetSumAfterRandomUpdates() throws Exception {
+        Random random = new Random();
+        SubsetSumIndex<Long> index = new SubsetSumIndex<>(Long::valueOf, 500L);
+        List<Long> items = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            if (items.size() > 3 && random.nextInt(3) == 0) {
+                Long item = items.remove(random.nextInt(items.size()));
+                assertTrue(index.remove(item));
+            }
+            else {
+                Long item = (long) random.nextInt(120);
+                items.add(item);
+                index.add(item);
+            }
+            long target = random.nextInt(400) + 1;
+            boolean expected = SubsetSum.subset(items, target) != null;
+            assertEquals(expected, index.contains(target));
+            List<Long> subset = index.query(target, 0L);
+            assertEquals(expected, subset != null);
+            if (subset != null) {
+                assertEquals(target, subset.stream().mapToLong(Long::longValue).sum());
+            }
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsNegativeValues() throws Exception {
+        new SubsetSumIndex<Long>(Long::valueOf, 100L).add(-1L);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsLargeMaxSum() throws Exception {
+        new SubsetSumIndex<Long>(Long::valueOf, SubsetSumIndex.MAX_SUM + 1);
+    }
+}
@@ -0,0 +1,153 @@
+package io.github.jonestimd.subset;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.junit.Assert.*;
+
+public class SubsetSumSolverTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void reusedSolverReturnsSameResultsAsSubsetSum() throws Exception {
+        Random random = new Random();
+        SubsetSumSolver solver = new SubsetSumSolver();
+        for (int i = 0; i < 200; i++) {
+            int maxItem = i % 3 == 0 ? 10000000 : 100;
+            List<Long> items = new ArrayList<>();
+            for (int j = random.nextInt(12) + 1; j > 0; j--) {
+                items.add((long) random.nextInt(maxItem));
+            }
+            long sum = random.nextInt(maxItem * 3);
+
+            assertEquals(SubsetSum.subsets(items, sum, 0L, 3, Long::valueOf), solver.solve(items, sum, 0L, 3));
+            assertEquals(SubsetSum.subsets(items, sum, 1L, -1, Long::valueOf), solver.solve(items, sum, 1L, -1, Long::valueOf));
+        }
+    }
+
+    @Test
+    public void solveBigDecimal() throws Exception {
+        List<BigDecimal> items = Arrays.asList(new BigDecimal("1.5"), new BigDecimal("2.25"), new BigDecimal("3"));
+
+        List<List<BigDecimal>> subsets = SubsetSumSolver.forCurrentThread().solve(items, new BigDecimal("3.75"), BigDecimal.ZERO, -1, value -> value);
+
+        assertEquals(Arrays.asList(Arrays.asList(items.get(0), items.get(1))), subsets);
+    }
+
+    @Test
+    public void forCurrentThreadReturnsSolverPerThread() throws Exception {
+        AtomicReference<SubsetSumSolver> otherSolver = new AtomicReference<>();
+        Thread thread = new Thread(() -> otherSolver.set(SubsetSumSolver.forCurrentThread()));
+        thread.start();
+        thread.join();
+
+        assertSame(SubsetSumSolver.forCurrentThread(), SubsetSumSolver.forCurrentThread());
+        assertNotNull(otherSolver.get());
+        assertNotSame(otherSolver.get(), SubsetSumSolver.forCurrentThread());
+    }
+
+    @Test
+    public void solverWithMemoryBudgetReturnsSameResultsAsSubsetSum() throws Exception {
+        Random random = new Random();
+        try (SubsetSumSolver solver = new SubsetSumSolver(100, folder.getRoot().toPath())) {
+            boolean spilled = false;
+            for (int i = 0; i < 50; i++) {
+                List<Long> items = new ArrayList<>();
+                for (int j = random.nextInt(12) + 4; j > 0; j--) {
+                    items.add((long) random.nextInt(50));
+                }
+                long sum = random.nextInt(150);
+
+                assertEquals(SubsetSum.subsets(items, sum, 1L, -1, Long::valueOf), solver.solve(items, sum, 1L, -1));
+                spilled |= solver.isSpilled();
+            }
+            assertTrue(spilled);
+            assertEquals(1, solver.solve(Arrays.asList(1L, 2L, 4L), 3L, 0L, -1).size());
+            assertFalse(solver.isSpilled());
+        }
+        assertEquals(0, folder.getRoot().listFiles().length);
+    }
+
+    @Test
+    public void solveWithListenerCollectsStats() throws Exception {
+        List<BigDecimal> items = Arrays.asList(new BigDecimal("1.5"), new BigDecimal("2.25"), new BigDecimal("3"), new BigDecimal("0.75"));
+        List<SearchStats.Phase> phases = new ArrayList<>();
+
+        SearchResult<BigDecimal> result = new SubsetSumSolver().solve(items, new BigDecimal("3.75"), BigDecimal.ZERO, -1, value -> value,
+                new SearchListener() {
+                    public void phaseCompleted(SearchStats.Phase phase, long nanos) {
+                        phases.add(phase);
+                    }
+                });
+
+        SearchStats stats = result.getStats();
+        assertEquals(Arrays.asList(Arrays.asList(items.get(0), items.get(1)), Arrays.asList(items.get(3), items.get(2))), result.getSubsets());
+        assertFalse(result.isPartial());
+        assertEquals(Arrays.asList(SearchStats.Phase.SCALE, SearchStats.Phase.SORT, SearchStats.Phase.BUILD, SearchStats.Phase.RECONSTRUCT), phases);
+        assertEquals(2L, stats.getMatches());
+        assertEquals(2, stats.getPeakBucketSize());
+        assertTrue(stats.getTableSize() > 0);
+        assertTrue(stats.getNodes() >= stats.getTableSize());
+        assertEquals(stats.getTableSize() * 20L + stats.getNodes() * SubsetLinks.LINK_BYTES, stats.getEstimatedBytes());
+    }
+
+    @Test
+    public void solveWithoutListenerCollectsStats() throws Exception {
+        SearchResult<Long> result = new SubsetSumSolver().solve(Arrays.asList(1L, 2L, 3L), 0L, 0L, -1, Long::valueOf, null);
+
+        assertTrue(result.getSubsets().isEmpty());
+        assertEquals(0L, result.getStats().getMatches());
+    }
+
+    @Test
+    public void parallelSolverReturnsSameResultsAsSequential() throws Exception {
+        Random random = new Random();
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try (SubsetSumSolver spilling = new SubsetSumSolver(1L << 16, folder.getRoot().toPath(), pool)) {
+            SubsetSumSolver parallel = new SubsetSumSolver(pool);
+            for (int i = 0; i < 3; i++) {
+                List<Long> items = new ArrayList<>();
+                for (int j = 0; j < 28; j++) {
+                    items.add((long) random.nextInt(40) + 1);
+                }
+                long sum = random.nextInt(50) + 100;
+                List<List<Long>> expected = SubsetSum.subsets(items, sum, 0L, 3 * SubsetSum.PARALLEL_LINKS, Long::valueOf);
+
+                assertEquals(expected, parallel.solve(items, sum, 0L, 3 * SubsetSum.PARALLEL_LINKS));
+                assertEquals(expected, spilling.solve(items, sum, 0L, 3 * SubsetSum.PARALLEL_LINKS));
+            }
+            assertTrue(spilling.isSpilled());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void cancelStopsBuildingSubsets() throws Exception {
+        List<Long> items = new ArrayList<>();
+        for (long i = 1; i <= 20; i++) {
+            items.add(i);
+        }
+        AtomicInteger checks = new AtomicInteger();
+
+        try {
+            new SubsetSumSolver().solve(ItemValues.of(items, Long::valueOf), 100L, 0L, -1, () -> checks.incrementAndGet() > 5);
+            fail("expected CancellationException");
+        } catch (CancellationException ex) {
+            // the first 5 items were added to the subsets before the calculation was cancelled
+            assertEquals(6, checks.get());
+        }
+    }
+}
@@ -6,8 +6,12 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.junit.Test;
 
@@ -45,6 +49,75 @@ public class SubsetSumTest {
         assertTrue(SubsetSum.subsets(items, 0, -1).isEmpty());
     }
 
+    @Test
+    public void largeItemValues() throws Exception {
+        List<Long> items = Arrays.asList(1000000000L, 3000000000L, 4000000000L, 4000000000L, 5000000000L, 9000000000L);
+
+        List<List<Long>> subsets = SubsetSum.subsets(items, 13000000000L, -1);
+
+        assertEquals(Arrays.asList(
+                Arrays.asList(1000000000L, 3000000000L, 4000000000L, 5000000000L),
+                Arrays.asList(1000000000L, 3000000000L, 4000000000L, 5000000000L),
+                Arrays.asList(4000000000L, 4000000000L, 5000000000L),
+                Arrays.asList(1000000000L, 3000000000L, 9000000000L),
+                Arrays.asList(4000000000L, 9000000000L),
+                Arrays.asList(4000000000L, 9000000000L)), subsets);
+        // the repeated subsets contain different items with the same value
+        assertNotSame(subsets.get(0).get(2), subsets.get(1).get(2));
+        assertNotSame(subsets.get(4).get(0), subsets.get(5).get(0));
+    }
+
+    @Test
+    public void nearestMatchWithinTolerance() throws Exception {
+        List<Integer> items = Arrays.asList(2, 4, 6, 8, 10, 20);
+
+        assertEquals(Collections.singletonList(Collections.singletonList(4)), SubsetSum.subsets(items, 5L, 1L, -1, Integer::longValue));
+        assertEquals(Arrays.asList(Arrays.asList(2, 4), Collections.singletonList(6)), SubsetSum.subsets(items, 7L, 1L, -1, Integer::longValue));
+        assertTrue(SubsetSum.subsets(items, 7L, 0L, -1, Integer::longValue).isEmpty());
+    }
+
+    @Test
+    public void streamSubsetsIsLazy() throws Exception {
+        List<Integer> items = Arrays.asList(1, 3, 4, 4, 5, 9);
+        AtomicInteger adapterCount = new AtomicInteger();
+
+        Stream<List<Integer>> subsets = SubsetSum.streamSubsets(items, 13L, 0L, -1, item -> {
+            adapterCount.incrementAndGet();
+            return item.longValue();
+        });
+
+        assertEquals(0, adapterCount.get());
+        assertEquals(SubsetSum.subsets(items, 13, -1), subsets.collect(Collectors.toList()));
+        assertEquals(SubsetSum.subsets(items, 13, -1).subList(0, 2), SubsetSum.streamSubsets(items, 13L, 0L, -1, Integer::longValue).limit(2).collect(Collectors.toList()));
+        assertEquals(SubsetSum.subsets(items, 24, -1), SubsetSum.streamSubsets(items, 24L, 0L, -1, Integer::longValue).collect(Collectors.toList()));
+    }
+
+    @Test
+    public void batchSubsetsMatchesSingleTargets() throws Exception {
+        List<Integer> items = Arrays.asList(1, 3, 4, 4, 5, 9);
+        List<SumTarget<Long>> targets = Arrays.asList(SumTarget.of(13L, 0L), SumTarget.of(2L, 0L), SumTarget.of(20L, 0L),
+                SumTarget.of(0L, 0L), SumTarget.of(26L, 0L), SumTarget.of(7L, 1L));
+
+        List<List<List<Integer>>> results = SubsetSum.batchSubsets(items, targets, -1, Integer::longValue);
+
+        assertEquals(targets.size(), results.size());
+        for (int i = 0; i < targets.size(); i++) {
+            assertEquals(SubsetSum.subsets(items, targets.get(i).getSum(), targets.get(i).getTolerance(), -1, Integer::longValue), results.get(i));
+        }
+    }
+
+    @Test
+    public void batchSubsetsOfBigDecimal() throws Exception {
+        List<BigDecimal> items = Arrays.asList(new BigDecimal("1.5"), new BigDecimal("2.25"), new BigDecimal("-3"), new BigDecimal("4"));
+        List<SumTarget<BigDecimal>> targets = Arrays.asList(SumTarget.of(new BigDecimal("3.75"), BigDecimal.ZERO),
+                SumTarget.of(new BigDecimal("1"), new BigDecimal("0.01")));
+
+        List<List<List<BigDecimal>>> results = SubsetSum.batchSubsets(targets, items, value -> value, -1);
+
+        assertEquals(SubsetSum.subsets(new BigDecimal("3.75"), BigDecimal.ZERO, items, value -> value, -1), results.get(0));
+        assertEquals(SubsetSum.subsets(new BigDecimal("1"), new BigDecimal("0.01"), items, value -> value, -1), results.get(1));
+    }
+
     @Test
     public void noMatches() throws Exception {
         List<Integer> items = Arrays.asList(1, 3, 4, 4, 5, 9);
@@ -169,4 +242,96 @@ public class SubsetSumTest {
         }
         assertEquals(0, subtotal.compareTo(actual));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void bestSubsetsReturnsFirstSubsetsInRankedOrder() throws Exception {
+        Random random = new Random();
+        for (int i = 0; i < 50; i++) {
+            List<Long> items = new ArrayList<>();
+            for (int j = random.nextInt(14) + 2; j > 0; j--) {
+                items.add((long) random.nextInt(30) + 1);
+            }
+            long sum = random.nextInt(100) + 1;
+            List<List<Long>> expected = new ArrayList<>(SubsetSum.subsets(items, sum, 0L, -1, Long::valueOf));
+            expected.sort(SubsetRanking.fewestItems());
+
+            List<List<Long>> best = SubsetSum.bestSubsets(items, sum, 0L, 3, Long::valueOf, SubsetRanking.fewestItems());
+
+            assertEquals(expected.subList(0, Math.min(3, expected.size())), best);
+        }
+    }
+
+    @Test
+    public void bestSubsetsRanksLimitedCandidates() throws Exception {
+        Random random = new Random(20L);
+        for (int i = 0; i < 50; i++) {
+            List<Long> items = new ArrayList<>();
+            for (int j = random.nextInt(14) + 2; j > 0; j--) {
+                items.add((long) random.nextInt(30) + 1);
+            }
+            long sum = random.nextInt(100) + 1;
+            List<List<Long>> expected = new ArrayList<>(SubsetSum.subsets(items, sum, 0L, 5, Long::valueOf));
+            expected.sort(SubsetRanking.fewestItems());
+
+            List<List<Long>> best = SubsetSum.bestSubsets(items, sum, 0L, 3, 5, Long::valueOf, SubsetRanking.fewestItems());
+
+            assertEquals(expected.subList(0, Math.min(3, expected.size())), best);
+        }
+    }
+
+    @Test
+    public void bestSubsetsWithCandidateLimitBoundsMemory() throws Exception {
+        Random random = new Random(200L);
+        List<Long> items = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            items.add((long) random.nextInt(1000) + 1);
+        }
+
+        List<List<Long>> best = SubsetSum.bestSubsets(items, 25000L, 0L, 1, 100, Long::valueOf, SubsetRanking.fewestItems());
+
+        assertEquals(1, best.size());
+        assertEquals(25000L, best.get(0).stream().mapToLong(Long::longValue).sum());
+    }
+
+    @Test
+    public void bestSubsetsRanksAllSubsetsOfSum() throws Exception {
+        List<Long> items = Arrays.asList(53L, 15L, 45L, 7L, 6L, 35L, 12L, 3L, 22L, 12L, 4L, 8L, 1L, 9L, 11L, 19L, 56L, 18L, 58L, 49L, 6L, 49L, 57L);
+
+        List<List<Long>> best = SubsetSum.bestSubsets(items, 277L, 0L, 1, Long::valueOf, SubsetRanking.fewestItems());
+
+        // the 5 largest values sum to 273, so 6 items is the fewest
+        assertEquals(Collections.singletonList(Arrays.asList(12L, 49L, 49L, 53L, 56L, 58L)), best);
+        // the best subset is not among the first 100 subsets of the sum
+        List<List<Long>> approximate = SubsetSum.bestSubsets(items, 277L, 0L, 1, 100, Long::valueOf, SubsetRanking.fewestItems());
+        assertEquals(12, approximate.get(0).size());
+    }
+
+    @Test
+    public void bestSubsetsWithZeroKReturnsEmptyList() throws Exception {
+        assertEquals(Collections.emptyList(), SubsetSum.bestSubsets(Arrays.asList(1L, 2L, 3L), 3L, 0L, 0, Long::valueOf, SubsetRanking.fewestItems()));
+    }
+
+    @Test
+    public void bestSubsetsOfBigDecimal() throws Exception {
+        List<BigDecimal> items = Arrays.asList(new BigDecimal("1.5"), new BigDecimal("0.5"), new BigDecimal("2"), new BigDecimal("1"), new BigDecimal("1.5"));
+
+        List<List<BigDecimal>> best = SubsetSum.bestSubsets(new BigDecimal("2"), BigDecimal.ZERO, items, value -> value, 2,
+                SubsetRanking.byItems(Comparator.<BigDecimal>reverseOrder()));
+
+        assertEquals(Arrays.asList(Arrays.asList(items.get(2)), Arrays.asList(items.get(1), items.get(0))), best);
+    }
+
+    @Test
+    public void adapterIsCalledOncePerItem() throws Exception {
+        List<BigDecimal> items = Arrays.asList(new BigDecimal("1.5"), new BigDecimal("2.25"), new BigDecimal("3"), new BigDecimal("0.75"));
+        AtomicInteger applyCount = new AtomicInteger();
+
+        List<List<BigDecimal>> subsets = SubsetSum.subsets(new BigDecimal("3.75"), BigDecimal.ZERO, items, item -> {
+            applyCount.incrementAndGet();
+            return item;
+        }, -1);
+
+        assertEquals(2, subsets.size());
+        assertEquals(items.size(), applyCount.get());
+    }
+}
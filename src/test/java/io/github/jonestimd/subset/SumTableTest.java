@@ -0,0 +1,78 @@
+package io.github.jonestimd.subset;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class SumTableTest {
+    @Test
+    public void denseTableAssignsSlotsInInsertionOrder() throws Exception {
+        SumTable table = SumTable.create(-5L, 100L, 4);
+
+        assertEquals(0, table.addSlot(10L));
+        assertEquals(1, table.addSlot(-5L));
+        assertEquals(2, table.addSlot(100L));
+        assertEquals(0, table.addSlot(10L));
+
+        assertEquals(3, table.size());
+        assertEquals(10L, table.sum(0));
+        assertEquals(-5L, table.sum(1));
+        assertEquals(100L, table.sum(2));
+        assertEquals(1, table.slot(-5L));
+        assertEquals(-1, table.slot(11L));
+        assertEquals(-1, table.slot(-6L));
+        assertEquals(-1, table.slot(101L));
+    }
+
+    @Test
+    public void sparseTableAssignsSlotsInInsertionOrder() throws Exception {
+        SumTable table = SumTable.create(0L, Long.MAX_VALUE, 2);
+
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(i, table.addSlot(i * 1000003L - 500));
+        }
+        assertEquals(1000, table.size());
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(i, table.slot(i * 1000003L - 500));
+            assertEquals(i, table.addSlot(i * 1000003L - 500));
+            assertEquals(i * 1000003L - 500, table.sum(i));
+        }
+        assertEquals(1000, table.size());
+        assertEquals(-1, table.slot(1L));
+    }
+
+    @Test
+    public void createChoosesStorageFromRange() throws Exception {
+        assertEquals("Dense", SumTable.create(0L, SumTable.DENSE_RANGE_LIMIT - 1, 10).getClass().getSimpleName());
+        assertEquals("Sparse", SumTable.create(0L, SumTable.DENSE_RANGE_LIMIT, 10).getClass().getSimpleName());
+        assertEquals("Sparse", SumTable.create(Long.MIN_VALUE, Long.MAX_VALUE, 10).getClass().getSimpleName());
+    }
+
+    @Test
+    public void reuseClearsTableWithSameStorage() throws Exception {
+        SumTable dense = SumTable.create(0L, 100L, 4);
+        dense.addSlot(10L);
+        dense.addSlot(20L);
+        SumTable sparse = SumTable.create(0L, Long.MAX_VALUE, 4);
+        sparse.addSlot(10L);
+
+        assertSame(dense, SumTable.reuse(dense, -50L, 50L, 4));
+        assertEquals(0, dense.size());
+        assertEquals(-1, dense.slot(10L));
+        assertEquals(0, dense.addSlot(-50L));
+        assertEquals(-1, dense.slot(20L));
+        assertSame(sparse, SumTable.reuse(sparse, Long.MIN_VALUE, Long.MAX_VALUE, 4));
+        assertEquals(-1, sparse.slot(10L));
+        assertEquals(0, sparse.addSlot(5L));
+    }
+
+    @Test
+    public void reuseCreatesTableForDifferentStorage() throws Exception {
+        SumTable dense = SumTable.create(0L, 100L, 4);
+
+        assertNotSame(dense, SumTable.reuse(dense, 0L, 101L, 4));
+        assertEquals("Sparse", SumTable.reuse(dense, 0L, Long.MAX_VALUE, 4).getClass().getSimpleName());
+        assertEquals("Dense", SumTable.reuse(SumTable.create(0L, Long.MAX_VALUE, 4), 0L, 100L, 4).getClass().getSimpleName());
+        assertEquals("Dense", SumTable.reuse(null, 0L, 100L, 4).getClass().getSimpleName());
+    }
+}